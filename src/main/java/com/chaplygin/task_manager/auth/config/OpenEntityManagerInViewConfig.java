@@ -0,0 +1,31 @@
+package com.chaplygin.task_manager.auth.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/*
+ * Replaces spring.jpa.open-in-view for everything but /auth/**. An entity manager opened for the
+ * request keeps its connection until the response is written, which on sign-in and sign-up would
+ * hold it while the password waits for the hashing pool.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${taskManager.api.prefix}")
+    private String apiPrefix;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor)
+                .excludePathPatterns(apiPrefix + "/auth/**");
+    }
+}
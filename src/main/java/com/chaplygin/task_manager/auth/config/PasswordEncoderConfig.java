@@ -0,0 +1,57 @@
+package com.chaplygin.task_manager.auth.config;
+
+import com.chaplygin.task_manager.auth.password.BCryptStrengthCalibrator;
+import com.chaplygin.task_manager.auth.password.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+public class PasswordEncoderConfig {
+    private static final String STRENGTH_METRIC = "auth.password.strength";
+
+    @Value("${taskManager.auth.password.strength}")
+    private int strength;
+    @Value("${taskManager.auth.password.calibrate.enabled}")
+    private boolean calibrate;
+    @Value("${taskManager.auth.password.calibrate.target}")
+    private Duration calibrationTarget;
+    @Value("${taskManager.auth.password.poolSize}")
+    private int poolSize;
+    @Value("${taskManager.auth.password.queueCapacity}")
+    private int queueCapacity;
+    @Value("${taskManager.auth.password.maxWait}")
+    private Duration maxWait;
+
+    /*
+     * Stored hashes carry their own strength, so changing it, by hand or by calibration, only
+     * affects passwords hashed from then on.
+     */
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int bcryptStrength = strength;
+        if (calibrate) {
+            bcryptStrength = new BCryptStrengthCalibrator().calibrate(calibrationTarget);
+            log.info("Calibrated BCrypt strength {} for a target hash time of {} ms",
+                    bcryptStrength, calibrationTarget.toMillis());
+        }
+        int registeredStrength = bcryptStrength;
+        Gauge.builder(STRENGTH_METRIC, () -> registeredStrength)
+                .register(meterRegistry);
+
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(bcryptStrength),
+                poolSize,
+                queueCapacity,
+                maxWait,
+                meterRegistry
+        );
+    }
+}
@@ -1,5 +1,7 @@
 package com.chaplygin.task_manager.auth.controller;
 
+import com.chaplygin.task_manager.auth.dto.RefreshTokenRequest;
+import com.chaplygin.task_manager.auth.dto.RefreshTokenResponse;
 import com.chaplygin.task_manager.auth.dto.SignInResponse;
 import com.chaplygin.task_manager.auth.dto.SignUpResponse;
 import com.chaplygin.task_manager.auth.service.AuthService;
@@ -100,4 +102,43 @@ public class AuthController {
         return authService.signIn(user);
     }
 
+    @Operation(summary = "Refresh", description = "Exchange a refresh token for a new access token and refresh token",
+            responses = {
+                    @ApiResponse(description = "Object, containing access token and the refresh token to use next",
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = RefreshTokenResponse.class)
+                            )),
+                    @ApiResponse(responseCode = "400", description = "Bad request",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = AppErrorResponse.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                                "status": 400,
+                                                "message": "Validation Error",
+                                                "timestamp": "2024-06-04T22:40:46.7924577"
+                                            }""")
+                            )
+                    ),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = AppErrorResponse.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                                "status": 401,
+                                                "message": "Refresh token error: 'Refresh token reused'",
+                                                "timestamp": "2024-06-04T22:40:46.7924577"
+                                            }""")
+                            )
+                    )
+            })
+    @PostMapping("/refresh")
+    @ResponseStatus(HttpStatus.OK)
+    public RefreshTokenResponse refresh(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        return authService.refresh(refreshTokenRequest.getRefreshToken());
+    }
+
 }
@@ -0,0 +1,19 @@
+package com.chaplygin.task_manager.auth.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Refresh request")
+public class RefreshTokenRequest {
+    @Schema(description = "Refresh token", example = "q3Jm8cT0bVx1kz6XyG5aWn2PfL9dRsEuHo4iA7tYcBg")
+    @NotBlank
+    @Size(max = 64)
+    String refreshToken;
+}
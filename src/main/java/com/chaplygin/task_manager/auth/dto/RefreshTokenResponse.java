@@ -0,0 +1,18 @@
+package com.chaplygin.task_manager.auth.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Refresh response with new Access and Refresh tokens")
+public class RefreshTokenResponse {
+    @Schema(description = "Access token", example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiIxMjM0NTY3ODkwIiwibmFtZSI6IkpvaG4gRG9lIiwiaWF0IjoxNTE2MjM5MDIyfQ.Sf...")
+    String accessToken;
+    @Schema(description = "Refresh token, replaces the one sent", example = "q3Jm8cT0bVx1kz6XyG5aWn2PfL9dRsEuHo4iA7tYcBg")
+    String refreshToken;
+}
@@ -16,4 +16,6 @@ public class SignUpResponse {
     UserResponseDtoFull user;
     @Schema(description = "Access token", example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiIxMjM0NTY3ODkwIiwibmFtZSI6IkpvaG4gRG9lIiwiaWF0IjoxNTE2MjM5MDIyfQ.Sf...")
     String accessToken;
+    @Schema(description = "Refresh token", example = "q3Jm8cT0bVx1kz6XyG5aWn2PfL9dRsEuHo4iA7tYcBg")
+    String refreshToken;
 }
@@ -5,8 +5,10 @@ import com.chaplygin.task_manager.exception.model.AccessTokenExpiredException;
 import com.chaplygin.task_manager.exception.model.AccessTokenMalformedException;
 import com.chaplygin.task_manager.exception.model.AccessTokenSignatureException;
 import com.chaplygin.task_manager.exception.model.AppErrorResponse;
+import com.chaplygin.task_manager.user.cache.PrincipalCache;
 import com.chaplygin.task_manager.user.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
@@ -15,17 +17,19 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -36,6 +40,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final ObjectMapper objectMapper;
     private final UserService userService;
+    private final PrincipalCache principalCache;
+
+    @Value("${taskManager.auth.stateless}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(
@@ -49,10 +57,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String accessToken = authHeader.substring(BEARER_PREFIX.length());
-        String email;
+        Claims claims;
 
         try {
-            email = jwtService.extractEmail(accessToken);
+            claims = jwtService.extractClaims(accessToken);
         } catch (SignatureException e) {
             handleException(response, new AccessTokenSignatureException("Invalid access token"), HttpStatus.FORBIDDEN);
             return;
@@ -64,16 +72,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        String email = claims.getSubject();
         if (email != null && !email.isBlank() && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(email);
-
             SecurityContext context = SecurityContextHolder.createEmptyContext();
 
-            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                    userDetails,
-                    null,
-                    userDetails.getAuthorities()
-            );
+            UsernamePasswordAuthenticationToken authToken = createAuthentication(email, claims);
 
             authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             context.setAuthentication(authToken);
@@ -83,6 +86,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UsernamePasswordAuthenticationToken createAuthentication(String email, Claims claims) {
+        Optional<JwtUserPrincipal> statelessPrincipal = stateless ? jwtService.extractPrincipal(claims) : Optional.empty();
+        if (statelessPrincipal.isPresent()) {
+            JwtUserPrincipal principal = statelessPrincipal.get();
+            return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        }
+
+        JwtUserPrincipal principal = principalCache.get(email, this::loadPrincipal);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    private JwtUserPrincipal loadPrincipal(String email) {
+        return userService.findByEmail(email)
+                .map(user -> new JwtUserPrincipal(user.getId(), user.getEmail(), user.getUsername(), user.getRole()))
+                .orElseThrow(() -> new UsernameNotFoundException("User '%s' not found".formatted(email)));
+    }
+
     private void handleException(HttpServletResponse response, Exception exception, HttpStatus status) throws IOException {
         AppErrorResponse appErrorResponse = new AppErrorResponse(status.value(), exception.getMessage());
         String jsonResponse = objectMapper.writeValueAsString(appErrorResponse);
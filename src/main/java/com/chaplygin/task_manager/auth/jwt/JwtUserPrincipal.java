@@ -0,0 +1,22 @@
+package com.chaplygin.task_manager.auth.jwt;
+
+import com.chaplygin.task_manager.user.model.AuthenticatedUser;
+import com.chaplygin.task_manager.user.model.Role;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+@Value
+public class JwtUserPrincipal implements AuthenticatedUser {
+    Long id;
+    String email;
+    String username;
+    Role role;
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+}
@@ -0,0 +1,6 @@
+package com.chaplygin.task_manager.auth.model;
+
+import com.chaplygin.task_manager.user.model.User;
+
+public record RotatedRefreshToken(User user, String refreshToken) {
+}
@@ -0,0 +1,58 @@
+package com.chaplygin.task_manager.auth.password;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntToLongFunction;
+
+/*
+ * Each BCrypt strength step doubles the work, so one timed hash at a cheap base strength is enough
+ * to pick the strength whose hash takes at most the target on this machine. The base hash is
+ * repeated and the fastest run is kept, which leaves JIT warm-up and scheduling noise out.
+ */
+public class BCryptStrengthCalibrator {
+    static final int MIN_STRENGTH = 4;
+    static final int MAX_STRENGTH = 31;
+
+    private static final int BASE_STRENGTH = 8;
+    private static final int RUNS = 5;
+
+    private final IntToLongFunction hashNanos;
+
+    public BCryptStrengthCalibrator() {
+        this(BCryptStrengthCalibrator::timeHash);
+    }
+
+    BCryptStrengthCalibrator(IntToLongFunction hashNanos) {
+        this.hashNanos = hashNanos;
+    }
+
+    public int calibrate(Duration target) {
+        long baseNanos = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            baseNanos = Math.min(baseNanos, hashNanos.applyAsLong(BASE_STRENGTH));
+        }
+        return strengthFor(Math.max(baseNanos, 1), target.toNanos());
+    }
+
+    static int strengthFor(long baseNanos, long targetNanos) {
+        int strength = BASE_STRENGTH;
+        long nanos = baseNanos;
+        while (strength < MAX_STRENGTH && nanos * 2 <= targetNanos) {
+            nanos *= 2;
+            strength++;
+        }
+        while (strength > MIN_STRENGTH && nanos > targetNanos) {
+            nanos /= 2;
+            strength--;
+        }
+        return strength;
+    }
+
+    private static long timeHash(int strength) {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        passwordEncoder.encode("calibration");
+        return System.nanoTime() - start;
+    }
+}
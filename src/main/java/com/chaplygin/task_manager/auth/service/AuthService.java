@@ -1,7 +1,9 @@
 package com.chaplygin.task_manager.auth.service;
 
+import com.chaplygin.task_manager.auth.dto.RefreshTokenResponse;
 import com.chaplygin.task_manager.auth.dto.SignInResponse;
 import com.chaplygin.task_manager.auth.dto.SignUpResponse;
+import com.chaplygin.task_manager.auth.model.RotatedRefreshToken;
 import com.chaplygin.task_manager.user.mapper.UserMapper;
 import com.chaplygin.task_manager.user.model.User;
 import com.chaplygin.task_manager.user.service.UserService;
@@ -11,7 +13,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -21,34 +23,54 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final UserMapper userMapper;
+    private final RefreshTokenService refreshTokenService;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    /*
+     * Password hashing waits for the bounded encoder pool, so it runs before any transaction takes
+     * a connection.
+     */
     public SignUpResponse signUp(User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        User savedUser = userService.createUser(user);
-        String accessToken = jwtService.generateAccessToken(savedUser.getEmail(), savedUser.getRole());
 
-        return SignUpResponse.builder()
-                .user(userMapper.mapUserToUserResponseDtoFull(savedUser))
-                .accessToken(accessToken)
-                .build();
+        return transactionTemplate.execute(status -> {
+            User savedUser = userService.createUser(user);
+
+            return SignUpResponse.builder()
+                    .user(userMapper.mapUserToUserResponseDtoFull(savedUser))
+                    .accessToken(jwtService.generateAccessToken(savedUser))
+                    .refreshToken(refreshTokenService.issue(savedUser))
+                    .build();
+        });
     }
 
-    @Transactional
     public SignInResponse signIn(User user) {
         authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
                 user.getEmail(),
                 user.getPassword()
         ));
-        User foundUser = userService.findByEmail(user.getEmail()).orElseThrow(
-                () -> new UsernameNotFoundException("User '%s' not found".formatted(user.getEmail()))
-        );
 
-        String accessToken = jwtService.generateAccessToken(foundUser.getEmail(), foundUser.getRole()
-        );
+        return transactionTemplate.execute(status -> {
+            User foundUser = userService.findByEmail(user.getEmail()).orElseThrow(
+                    () -> new UsernameNotFoundException("User '%s' not found".formatted(user.getEmail()))
+            );
+
+            return SignInResponse.builder()
+                    .accessToken(jwtService.generateAccessToken(foundUser))
+                    .refreshToken(refreshTokenService.issue(foundUser))
+                    .build();
+        });
+    }
+
+    /*
+     * Not transactional here: a rejected reuse must still commit the revocation done by rotate.
+     */
+    public RefreshTokenResponse refresh(String refreshToken) {
+        RotatedRefreshToken rotatedRefreshToken = refreshTokenService.rotate(refreshToken);
 
-        return SignInResponse.builder()
-                .accessToken(accessToken)
+        return RefreshTokenResponse.builder()
+                .accessToken(jwtService.generateAccessToken(rotatedRefreshToken.user()))
+                .refreshToken(rotatedRefreshToken.refreshToken())
                 .build();
     }
 }
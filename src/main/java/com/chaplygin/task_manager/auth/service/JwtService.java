@@ -1,45 +1,76 @@
 package com.chaplygin.task_manager.auth.service;
 
 
+import com.chaplygin.task_manager.auth.jwt.JwtUserPrincipal;
 import com.chaplygin.task_manager.user.model.Role;
+import com.chaplygin.task_manager.user.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {
     private static final String ROLES_CLAIM = "roles";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String USERNAME_CLAIM = "username";
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-    @Value("${jwt.accessTokenExpiration}")
-    private Duration accessTokenExpiration;
+    private final Duration accessTokenExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+    private final Cache<String, Claims> verifiedTokens;
 
-    public String generateAccessToken(String email, Role role) {
+    public JwtService(
+            @Value("${jwt.secret}") String jwtSecret,
+            @Value("${jwt.accessTokenExpiration}") Duration accessTokenExpiration,
+            @Value("${jwt.verifiedTokenCache.maximumSize}") long verifiedTokenCacheSize
+    ) {
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = verifiedTokenCacheSize > 0
+                ? Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new TokenExpiry())
+                .build()
+                : null;
+    }
+
+    public String generateAccessToken(User user) {
         Map<String, Object> claims = new HashMap<>();
         claims.put(
                 ROLES_CLAIM,
-                List.of(role)
+                List.of(user.getRole())
         );
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(USERNAME_CLAIM, user.getUsername());
 
         return Jwts.builder()
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + accessTokenExpiration.toMillis()))
-                .subject(email)
+                .subject(user.getEmail())
                 .claims(claims)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -47,16 +78,77 @@ public class JwtService {
         return getAllClaimsFromToken(token).getSubject();
     }
 
+    public Claims extractClaims(String token) {
+        return getAllClaimsFromToken(token);
+    }
+
+    public Optional<JwtUserPrincipal> extractPrincipal(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        String username = claims.get(USERNAME_CLAIM, String.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (userId == null || username == null || roles == null || roles.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new JwtUserPrincipal(
+                userId.longValue(),
+                claims.getSubject(),
+                username,
+                Role.valueOf(roles.getFirst().toString())
+        ));
+    }
+
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        if (verifiedTokens == null) {
+            return verify(token);
+        }
+
+        String tokenHash = hash(token);
+        Claims claims = verifiedTokens.getIfPresent(tokenHash);
+        if (claims != null) {
+            return claims;
+        }
+
+        claims = verify(token);
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(tokenHash, claims);
+        }
+        return claims;
+    }
+
+    private Claims verify(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
     public SecretKey getSigningKey() {
-        byte[] keyBytes = this.jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
+    }
+
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String tokenHash, Claims claims, long currentTime) {
+            long nanosToExpiration = Duration.between(Instant.now(), claims.getExpiration().toInstant()).toNanos();
+            return Math.max(nanosToExpiration, 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenHash, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
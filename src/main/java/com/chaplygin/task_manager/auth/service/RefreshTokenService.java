@@ -0,0 +1,108 @@
+package com.chaplygin.task_manager.auth.service;
+
+import com.chaplygin.task_manager.auth.model.RefreshToken;
+import com.chaplygin.task_manager.auth.model.RotatedRefreshToken;
+import com.chaplygin.task_manager.auth.repository.RefreshTokenRepository;
+import com.chaplygin.task_manager.exception.model.InvalidRefreshTokenException;
+import com.chaplygin.task_manager.user.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/*
+ * Tokens are 256 random bits, so an unsalted SHA-256 is enough to store them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refreshTokenExpiration}")
+    private Duration refreshTokenExpiration;
+
+    @Transactional
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID());
+    }
+
+    /*
+     * Revoking a family must survive the rejection of the request that revealed the reuse.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public RotatedRefreshToken rotate(String rawToken) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token not found"));
+        Instant now = Instant.now();
+
+        if (refreshToken.getRevokedAt() != null) {
+            throw new InvalidRefreshTokenException("Refresh token revoked");
+        }
+        if (refreshToken.getUsedAt() != null) {
+            throw revokeFamily(refreshToken, now);
+        }
+        if (!refreshToken.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        }
+        if (refreshTokenRepository.markUsed(refreshToken.getId(), now) == 0) {
+            throw revokeFamily(refreshToken, now);
+        }
+
+        User user = refreshToken.getUser();
+        return new RotatedRefreshToken(user, issue(user, refreshToken.getFamilyId()));
+    }
+
+    @Scheduled(cron = "${taskManager.auth.refreshToken.purgeCron}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(Instant.now());
+        log.info("Purged {} expired refresh tokens", purged);
+    }
+
+    private InvalidRefreshTokenException revokeFamily(RefreshToken refreshToken, Instant now) {
+        int revoked = refreshTokenRepository.revokeFamily(refreshToken.getFamilyId(), now);
+        log.warn("Refresh token reuse for user {}, revoked {} tokens of family {}",
+                refreshToken.getUser().getId(), revoked, refreshToken.getFamilyId());
+        return new InvalidRefreshTokenException("Refresh token reused");
+    }
+
+    private String issue(User user, UUID familyId) {
+        byte[] tokenBytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(tokenBytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setUser(user);
+        refreshToken.setExpiresAt(Instant.now().plus(refreshTokenExpiration));
+        refreshTokenRepository.save(refreshToken);
+
+        return rawToken;
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
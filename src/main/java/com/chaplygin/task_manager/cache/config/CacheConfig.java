@@ -0,0 +1,69 @@
+package com.chaplygin.task_manager.cache.config;
+
+import com.chaplygin.task_manager.cache.serializer.CompactCacheValueSerializer;
+import com.chaplygin.task_manager.cache.service.CacheTagService;
+import com.chaplygin.task_manager.cache.support.CacheInvalidationSubscription;
+import com.chaplygin.task_manager.task.pagination.TaskCountEstimator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    private static final List<String> READ_MODEL_CACHES = List.of("task", "tasks", "comments");
+
+    @Value("${taskManager.cache.ttl}")
+    private Duration cacheTtl;
+    @Value("${taskManager.cache.tagTtl}")
+    private Duration tagTtl;
+    @Value("${taskManager.cache.countTtl}")
+    private Duration countTtl;
+    @Value("${taskManager.cache.serializer.compact}")
+    private boolean compactSerializer;
+    @Value("${taskManager.cache.serializer.compressionThreshold}")
+    private int compressionThreshold;
+
+    @Bean
+    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer() {
+        RedisCacheConfiguration defaultConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(cacheTtl);
+
+        return builder -> {
+            builder.cacheDefaults(defaultConfiguration)
+                    .withCacheConfiguration(CacheTagService.TAGS_CACHE, defaultConfiguration.entryTtl(tagTtl))
+                    .withCacheConfiguration(TaskCountEstimator.COUNTS_CACHE, defaultConfiguration.entryTtl(countTtl));
+
+            if (compactSerializer) {
+                RedisCacheConfiguration readModelConfiguration = defaultConfiguration.serializeValuesWith(
+                        RedisSerializationContext.SerializationPair.fromSerializer(
+                                new CompactCacheValueSerializer(compressionThreshold)
+                        )
+                );
+                READ_MODEL_CACHES.forEach(cacheName -> builder.withCacheConfiguration(cacheName, readModelConfiguration));
+            }
+        };
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            ObjectProvider<CacheInvalidationSubscription> subscriptions
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        subscriptions.orderedStream()
+                .forEach(subscription -> container.addMessageListener(subscription.listener(), subscription.topic()));
+        return container;
+    }
+}
@@ -0,0 +1,61 @@
+package com.chaplygin.task_manager.cache.config;
+
+import com.chaplygin.task_manager.cache.near.NearCacheInvalidationListener;
+import com.chaplygin.task_manager.cache.near.NearCacheManager;
+import com.chaplygin.task_manager.cache.support.CacheInvalidationSubscription;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Configuration
+@ConditionalOnProperty(name = "taskManager.cache.near.enabled", havingValue = "true")
+public class NearCacheConfig {
+
+    @Bean
+    public static BeanPostProcessor nearCacheManagerPostProcessor(
+            @Value("${taskManager.cache.near.cacheNames}") Set<String> cacheNames,
+            @Value("${taskManager.cache.near.maximumSize}") long maximumSize,
+            @Value("${taskManager.cache.near.ttl}") Duration ttl,
+            @Value("${taskManager.cache.near.channel}") String channel,
+            ObjectProvider<RedisTemplate<Object, Object>> redisTemplate
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (!(bean instanceof RedisCacheManager redisCacheManager)) {
+                    return bean;
+                }
+                return new NearCacheManager(
+                        redisCacheManager,
+                        cacheNames,
+                        maximumSize,
+                        ttl,
+                        invalidation -> redisTemplate.getObject().convertAndSend(channel, invalidation)
+                );
+            }
+        };
+    }
+
+    @Bean
+    public CacheInvalidationSubscription nearCacheInvalidationSubscription(
+            CacheManager cacheManager,
+            @Value("${taskManager.cache.near.channel}") String channel
+    ) {
+        return new CacheInvalidationSubscription(
+                new NearCacheInvalidationListener(cacheManager, RedisSerializer.java()),
+                new ChannelTopic(channel)
+        );
+    }
+}
@@ -0,0 +1,49 @@
+package com.chaplygin.task_manager.cache.config;
+
+import com.chaplygin.task_manager.cache.negative.NegativeCache;
+import com.chaplygin.task_manager.cache.support.CacheInvalidationSubscription;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+@Configuration
+public class NegativeCacheConfig {
+    private static final String CACHE_NAME = "negative";
+
+    @Value("${taskManager.cache.negative.maximumSize}")
+    private long maximumSize;
+    @Value("${taskManager.cache.negative.ttl}")
+    private Duration ttl;
+    @Value("${taskManager.cache.negative.channel}")
+    private String channel;
+
+    @Bean
+    public NegativeCache negativeCache(
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        NegativeCache negativeCache = new NegativeCache(
+                maximumSize,
+                ttl,
+                key -> redisTemplate.getObject().convertAndSend(channel, key)
+        );
+        CaffeineCacheMetrics.monitor(meterRegistry, negativeCache.getNativeCache(), CACHE_NAME);
+        return negativeCache;
+    }
+
+    @Bean
+    public CacheInvalidationSubscription negativeCacheInvalidationSubscription(NegativeCache negativeCache) {
+        return new CacheInvalidationSubscription(
+                (message, pattern) -> negativeCache.clearLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel)
+        );
+    }
+}
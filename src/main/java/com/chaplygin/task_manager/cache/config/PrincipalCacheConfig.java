@@ -0,0 +1,51 @@
+package com.chaplygin.task_manager.cache.config;
+
+import com.chaplygin.task_manager.cache.support.CacheInvalidationSubscription;
+import com.chaplygin.task_manager.user.cache.PrincipalCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+@Configuration
+public class PrincipalCacheConfig {
+    private static final String CACHE_NAME = "principals";
+
+    @Value("${taskManager.cache.principals.maximumSize}")
+    private long maximumSize;
+    @Value("${taskManager.cache.principals.ttl}")
+    private Duration ttl;
+    @Value("${taskManager.cache.principals.channel}")
+    private String channel;
+    @Value("${jwt.accessTokenExpiration}")
+    private Duration accessTokenExpiration;
+
+    @Bean
+    public PrincipalCache principalCache(
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        PrincipalCache principalCache = new PrincipalCache(
+                maximumSize,
+                ttl.compareTo(accessTokenExpiration) < 0 ? ttl : accessTokenExpiration,
+                email -> redisTemplate.getObject().convertAndSend(channel, email)
+        );
+        CaffeineCacheMetrics.monitor(meterRegistry, principalCache.getNativeCache(), CACHE_NAME);
+        return principalCache;
+    }
+
+    @Bean
+    public CacheInvalidationSubscription principalCacheInvalidationSubscription(PrincipalCache principalCache) {
+        return new CacheInvalidationSubscription(
+                (message, pattern) -> principalCache.evictLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel)
+        );
+    }
+}
@@ -0,0 +1,44 @@
+package com.chaplygin.task_manager.cache.config;
+
+import com.chaplygin.task_manager.cache.singleflight.RedisLoadLock;
+import com.chaplygin.task_manager.cache.singleflight.SingleFlightCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "taskManager.cache.singleFlight.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class SingleFlightCacheConfig implements CachingConfigurer {
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${taskManager.cache.singleFlight.distributed}")
+    private boolean distributed;
+    @Value("${taskManager.cache.singleFlight.lockTtl}")
+    private Duration lockTtl;
+    @Value("${taskManager.cache.singleFlight.maxWait}")
+    private Duration maxWait;
+    @Value("${taskManager.cache.singleFlight.pollInterval}")
+    private Duration pollInterval;
+
+    @Override
+    public CacheManager cacheManager() {
+        return new SingleFlightCacheManager(
+                cacheManager.getObject(),
+                distributed ? new RedisLoadLock(redisTemplate.getObject(), lockTtl) : null,
+                maxWait,
+                pollInterval,
+                meterRegistry.getObject()
+        );
+    }
+}
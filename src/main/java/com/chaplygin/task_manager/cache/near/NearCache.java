@@ -0,0 +1,147 @@
+package com.chaplygin.task_manager.cache.near;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/*
+ * A local fill races with invalidations of the same key: each invalidation bumps the key's stripe
+ * before dropping the local copy, and a fill that sees its stripe changed since it read the remote
+ * value drops what it just stored.
+ */
+public class NearCache implements Cache {
+    private static final int INVALIDATION_STRIPES = 1024;
+
+    private final AtomicLongArray invalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+    private final Cache remoteCache;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> localCache;
+    private final Consumer<Object> invalidationPublisher;
+
+    public NearCache(
+            Cache remoteCache,
+            com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> localCache,
+            Consumer<Object> invalidationPublisher
+    ) {
+        this.remoteCache = remoteCache;
+        this.localCache = localCache;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return remoteCache.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return remoteCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(@NonNull Object key) {
+        ValueWrapper localValue = localCache.getIfPresent(key);
+        if (localValue != null) {
+            return localValue;
+        }
+
+        long stamp = invalidations.get(stripe(key));
+        ValueWrapper remoteValue = remoteCache.get(key);
+        if (remoteValue != null) {
+            fillLocal(key, remoteValue.get(), stamp);
+        }
+        return remoteValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, Class<T> type) {
+        ValueWrapper valueWrapper = get(key);
+        Object value = valueWrapper == null ? null : valueWrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [%s]: %s".formatted(type.getName(), value)
+            );
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        ValueWrapper localValue = localCache.getIfPresent(key);
+        if (localValue != null) {
+            return (T) localValue.get();
+        }
+
+        long stamp = invalidations.get(stripe(key));
+        T value = remoteCache.get(key, valueLoader);
+        fillLocal(key, value, stamp);
+        return value;
+    }
+
+    @Override
+    public void put(@NonNull Object key, Object value) {
+        remoteCache.put(key, value);
+        invalidations.incrementAndGet(stripe(key));
+        localCache.put(key, new SimpleValueWrapper(value));
+        invalidationPublisher.accept(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, Object value) {
+        long stamp = invalidations.get(stripe(key));
+        ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+        if (existing == null) {
+            invalidations.incrementAndGet(stripe(key));
+            localCache.put(key, new SimpleValueWrapper(value));
+            invalidationPublisher.accept(key);
+        } else {
+            fillLocal(key, existing.get(), stamp);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        remoteCache.evict(key);
+        evictLocal(key);
+        invalidationPublisher.accept(key);
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        clearLocal();
+        invalidationPublisher.accept(null);
+    }
+
+    void evictLocal(Object key) {
+        invalidations.incrementAndGet(stripe(key));
+        localCache.invalidate(key);
+    }
+
+    void clearLocal() {
+        for (int i = 0; i < INVALIDATION_STRIPES; i++) {
+            invalidations.incrementAndGet(i);
+        }
+        localCache.invalidateAll();
+    }
+
+    private void fillLocal(Object key, Object value, long stamp) {
+        localCache.put(key, new SimpleValueWrapper(value));
+        if (invalidations.get(stripe(key)) != stamp) {
+            localCache.invalidate(key);
+        }
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (INVALIDATION_STRIPES - 1);
+    }
+}
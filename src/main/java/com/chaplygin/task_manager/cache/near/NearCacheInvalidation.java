@@ -0,0 +1,14 @@
+package com.chaplygin.task_manager.cache.near;
+
+import java.io.Serializable;
+
+public record NearCacheInvalidation(
+        String nodeId,
+        String cacheName,
+        Object key
+) implements Serializable {
+
+    public boolean isClear() {
+        return key == null;
+    }
+}
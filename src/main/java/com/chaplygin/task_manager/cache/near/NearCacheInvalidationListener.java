@@ -0,0 +1,22 @@
+package com.chaplygin.task_manager.cache.near;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.NonNull;
+
+@RequiredArgsConstructor
+public class NearCacheInvalidationListener implements MessageListener {
+    private final CacheManager cacheManager;
+    private final RedisSerializer<Object> serializer;
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        if (cacheManager instanceof NearCacheManager nearCacheManager
+                && serializer.deserialize(message.getBody()) instanceof NearCacheInvalidation invalidation) {
+            nearCacheManager.applyInvalidation(invalidation);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.chaplygin.task_manager.cache.near;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+public class NearCacheManager implements CacheManager {
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, NearCache> nearCaches = new ConcurrentHashMap<>();
+
+    private final CacheManager remoteCacheManager;
+    private final Set<String> nearCacheNames;
+    private final long maximumSize;
+    private final Duration ttl;
+    private final Consumer<NearCacheInvalidation> invalidationPublisher;
+
+    public NearCacheManager(
+            CacheManager remoteCacheManager,
+            Set<String> nearCacheNames,
+            long maximumSize,
+            Duration ttl,
+            Consumer<NearCacheInvalidation> invalidationPublisher
+    ) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.nearCacheNames = Set.copyOf(nearCacheNames);
+        this.maximumSize = maximumSize;
+        this.ttl = ttl;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public Cache getCache(@NonNull String name) {
+        if (!nearCacheNames.contains(name)) {
+            return remoteCacheManager.getCache(name);
+        }
+
+        NearCache nearCache = nearCaches.get(name);
+        if (nearCache != null) {
+            return nearCache;
+        }
+
+        Cache remoteCache = remoteCacheManager.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return nearCaches.computeIfAbsent(name, cacheName -> createNearCache(remoteCache));
+    }
+
+    @Override
+    @NonNull
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    public void applyInvalidation(NearCacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.nodeId())) {
+            return;
+        }
+
+        NearCache nearCache = nearCaches.get(invalidation.cacheName());
+        if (nearCache == null) {
+            return;
+        }
+
+        if (invalidation.isClear()) {
+            nearCache.clearLocal();
+        } else {
+            nearCache.evictLocal(invalidation.key());
+        }
+    }
+
+    private NearCache createNearCache(Cache remoteCache) {
+        String cacheName = remoteCache.getName();
+        return new NearCache(
+                remoteCache,
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(ttl)
+                        .build(),
+                key -> invalidationPublisher.accept(new NearCacheInvalidation(nodeId, cacheName, key))
+        );
+    }
+}
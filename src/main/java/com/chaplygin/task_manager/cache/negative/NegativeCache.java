@@ -0,0 +1,55 @@
+package com.chaplygin.task_manager.cache.negative;
+
+import com.chaplygin.task_manager.cache.support.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/*
+ * Remembers lookups that found nothing, per node and for a short time. Markers are dropped on
+ * every node after the commit that creates the entity; a marker written by a lookup that raced
+ * with that commit lives at most one ttl.
+ */
+public class NegativeCache {
+    private final Cache<String, Boolean> missingKeys;
+    private final Consumer<String> invalidationPublisher;
+
+    public NegativeCache(long maximumSize, Duration ttl, Consumer<String> invalidationPublisher) {
+        this.missingKeys = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    public boolean isMissing(String type, Object id) {
+        return missingKeys.getIfPresent(keyOf(type, id)) != null;
+    }
+
+    public void markMissing(String type, Object id) {
+        missingKeys.put(keyOf(type, id), Boolean.TRUE);
+    }
+
+    public void clearAfterCommit(String type, Object id) {
+        String key = keyOf(type, id);
+        AfterCommit.run(() -> {
+            clearLocal(key);
+            invalidationPublisher.accept(key);
+        });
+    }
+
+    public void clearLocal(String key) {
+        missingKeys.invalidate(key);
+    }
+
+    public Cache<String, Boolean> getNativeCache() {
+        return missingKeys;
+    }
+
+    private String keyOf(String type, Object id) {
+        return type + ":" + id;
+    }
+}
@@ -0,0 +1,265 @@
+package com.chaplygin.task_manager.cache.serializer;
+
+import com.chaplygin.task_manager.comment.dto.CommentPagedListResponseDto;
+import com.chaplygin.task_manager.comment.dto.CommentResponseDtoFull;
+import com.chaplygin.task_manager.task.dto.TaskPagedListResponseDto;
+import com.chaplygin.task_manager.task.dto.TaskResponseDtoNoComments;
+import com.chaplygin.task_manager.task.model.Priority;
+import com.chaplygin.task_manager.task.model.Status;
+import com.chaplygin.task_manager.task.pagination.CountMode;
+import com.chaplygin.task_manager.user.dto.UserResponseDtoFull;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/*
+ * Schema of the cached read models. Users are written once per value into a table and referenced
+ * by index, because a page usually repeats the same owner and assignee. Any change to this layout
+ * must come with a new CompactCacheValueSerializer.FORMAT_VERSION.
+ */
+class CacheValueCodec {
+    private static final byte TASK = 1;
+    private static final byte TASK_PAGE = 2;
+    private static final byte COMMENT_PAGE = 3;
+    private static final byte JAVA_SERIALIZED = 127;
+
+    private final RedisSerializer<Object> fallbackSerializer = RedisSerializer.java();
+
+    byte[] encode(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            switch (value) {
+                case TaskResponseDtoNoComments task -> {
+                    out.writeByte(TASK);
+                    writeTasks(out, List.of(task));
+                }
+                case TaskPagedListResponseDto taskPage -> {
+                    out.writeByte(TASK_PAGE);
+                    writeTasks(out, taskPage.tasks());
+                    writePageInfo(out, taskPage.page(), taskPage.size(), taskPage.totalPages());
+                    writeString(out, taskPage.nextCursor());
+                    out.writeBoolean(taskPage.hasNext());
+                    writeString(out, taskPage.countMode() == null ? null : taskPage.countMode().name());
+                }
+                case CommentPagedListResponseDto commentPage -> {
+                    out.writeByte(COMMENT_PAGE);
+                    writeComments(out, commentPage.comments());
+                    writePageInfo(out, commentPage.page(), commentPage.size(), commentPage.totalPages());
+                }
+                default -> {
+                    out.writeByte(JAVA_SERIALIZED);
+                    out.write(fallbackSerializer.serialize(value));
+                }
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Cannot encode cache value", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    Object decode(byte[] bytes, int offset, int length) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, offset, length))) {
+            byte type = in.readByte();
+            return switch (type) {
+                case TASK -> readTasks(in).getFirst();
+                case TASK_PAGE -> readTaskPage(in);
+                case COMMENT_PAGE -> new CommentPagedListResponseDto(
+                        readComments(in), readVarInt(in), readVarInt(in), readVarInt(in)
+                );
+                case JAVA_SERIALIZED -> fallbackSerializer.deserialize(in.readAllBytes());
+                default -> throw new SerializationException("Unknown cache value type %d".formatted(type));
+            };
+        } catch (IOException e) {
+            throw new SerializationException("Cannot decode cache value", e);
+        }
+    }
+
+    private void writeTasks(DataOutputStream out, List<TaskResponseDtoNoComments> tasks) throws IOException {
+        Map<UserResponseDtoFull, Integer> users = writeUsers(out, tasks, task -> Stream.of(task.owner(), task.assignee()));
+        writeVarInt(out, tasks.size());
+        for (TaskResponseDtoNoComments task : tasks) {
+            writeLong(out, task.id());
+            writeString(out, task.title());
+            writeString(out, task.description());
+            writeUserRef(out, users, task.owner());
+            writeUserRef(out, users, task.assignee());
+            writeString(out, task.status() == null ? null : task.status().name());
+            writeString(out, task.priority() == null ? null : task.priority().name());
+        }
+    }
+
+    private List<TaskResponseDtoNoComments> readTasks(DataInputStream in) throws IOException {
+        List<UserResponseDtoFull> users = readUsers(in);
+        int count = readVarInt(in);
+        List<TaskResponseDtoNoComments> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Long id = readLong(in);
+            String title = readString(in);
+            String description = readString(in);
+            UserResponseDtoFull owner = readUserRef(in, users);
+            UserResponseDtoFull assignee = readUserRef(in, users);
+            String status = readString(in);
+            String priority = readString(in);
+            tasks.add(new TaskResponseDtoNoComments(
+                    id, title, description, owner, assignee,
+                    status == null ? null : Status.valueOf(status),
+                    priority == null ? null : Priority.valueOf(priority)
+            ));
+        }
+        return List.copyOf(tasks);
+    }
+
+    private TaskPagedListResponseDto readTaskPage(DataInputStream in) throws IOException {
+        List<TaskResponseDtoNoComments> tasks = readTasks(in);
+        int page = readVarInt(in);
+        int size = readVarInt(in);
+        int totalPages = readVarInt(in);
+        String nextCursor = readString(in);
+        boolean hasNext = in.readBoolean();
+        String countMode = readString(in);
+        return new TaskPagedListResponseDto(
+                tasks, page, size, totalPages, nextCursor, hasNext,
+                countMode == null ? null : CountMode.valueOf(countMode)
+        );
+    }
+
+    private void writeComments(DataOutputStream out, List<CommentResponseDtoFull> comments) throws IOException {
+        Map<UserResponseDtoFull, Integer> users = writeUsers(out, comments, comment -> Stream.of(comment.author()));
+        writeVarInt(out, comments.size());
+        for (CommentResponseDtoFull comment : comments) {
+            writeString(out, comment.text());
+            writeUserRef(out, users, comment.author());
+        }
+    }
+
+    private List<CommentResponseDtoFull> readComments(DataInputStream in) throws IOException {
+        List<UserResponseDtoFull> users = readUsers(in);
+        int count = readVarInt(in);
+        List<CommentResponseDtoFull> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            comments.add(new CommentResponseDtoFull(readString(in), readUserRef(in, users)));
+        }
+        return List.copyOf(comments);
+    }
+
+    private <T> Map<UserResponseDtoFull, Integer> writeUsers(
+            DataOutputStream out,
+            List<T> items,
+            Function<T, Stream<UserResponseDtoFull>> usersOf
+    ) throws IOException {
+        Map<UserResponseDtoFull, Integer> users = new LinkedHashMap<>();
+        items.stream()
+                .flatMap(usersOf)
+                .filter(Objects::nonNull)
+                .forEach(user -> users.putIfAbsent(user, users.size()));
+
+        writeVarInt(out, users.size());
+        for (UserResponseDtoFull user : users.keySet()) {
+            writeLong(out, user.id());
+            writeString(out, user.email());
+            writeString(out, user.username());
+        }
+        return users;
+    }
+
+    private List<UserResponseDtoFull> readUsers(DataInputStream in) throws IOException {
+        int count = readVarInt(in);
+        List<UserResponseDtoFull> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(new UserResponseDtoFull(readLong(in), readString(in), readString(in)));
+        }
+        return users;
+    }
+
+    private void writeUserRef(DataOutputStream out, Map<UserResponseDtoFull, Integer> users, UserResponseDtoFull user)
+            throws IOException {
+        writeVarInt(out, user == null ? 0 : users.get(user) + 1);
+    }
+
+    private UserResponseDtoFull readUserRef(DataInputStream in, List<UserResponseDtoFull> users) throws IOException {
+        int ref = readVarInt(in);
+        return ref == 0 ? null : users.get(ref - 1);
+    }
+
+    private void writePageInfo(DataOutputStream out, int page, int size, int totalPages) throws IOException {
+        writeVarInt(out, page);
+        writeVarInt(out, size);
+        writeVarInt(out, totalPages);
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length + 1);
+        out.write(utf8);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length - 1];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeVarLong(out, (value << 1) ^ (value >> 63));
+        }
+    }
+
+    private Long readLong(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long zigZag = readVarLong(in);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    private void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    private void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed variable-length number");
+    }
+}
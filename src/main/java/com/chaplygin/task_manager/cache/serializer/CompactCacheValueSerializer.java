@@ -0,0 +1,70 @@
+package com.chaplygin.task_manager.cache.serializer;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+
+/*
+ * Layout: [format version][flags][payload]. A compressed payload is prefixed with its original
+ * length. Values written with another format version are read as cache misses, so nodes running
+ * different versions during a rolling deploy overwrite each other's entries instead of failing.
+ */
+public class CompactCacheValueSerializer implements RedisSerializer<Object> {
+    static final byte FORMAT_VERSION = 3;
+
+    private static final byte FLAG_COMPRESSED = 1;
+    private static final int HEADER_LENGTH = 2;
+
+    private final CacheValueCodec codec = new CacheValueCodec();
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+    private final int compressionThreshold;
+
+    public CompactCacheValueSerializer(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        byte[] payload = codec.encode(value);
+        if (compressionThreshold <= 0 || payload.length < compressionThreshold) {
+            return ByteBuffer.allocate(HEADER_LENGTH + payload.length)
+                    .put(FORMAT_VERSION)
+                    .put((byte) 0)
+                    .put(payload)
+                    .array();
+        }
+
+        byte[] compressed = new byte[compressor.maxCompressedLength(payload.length)];
+        int compressedLength = compressor.compress(payload, 0, payload.length, compressed, 0);
+        return ByteBuffer.allocate(HEADER_LENGTH + Integer.BYTES + compressedLength)
+                .put(FORMAT_VERSION)
+                .put(FLAG_COMPRESSED)
+                .putInt(payload.length)
+                .put(compressed, 0, compressedLength)
+                .array();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < HEADER_LENGTH || bytes[0] != FORMAT_VERSION) {
+            return null;
+        }
+
+        if ((bytes[1] & FLAG_COMPRESSED) == 0) {
+            return codec.decode(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+        }
+
+        int payloadLength = ByteBuffer.wrap(bytes, HEADER_LENGTH, Integer.BYTES).getInt();
+        byte[] payload = decompressor.decompress(bytes, HEADER_LENGTH + Integer.BYTES, payloadLength);
+        return codec.decode(payload, 0, payload.length);
+    }
+}
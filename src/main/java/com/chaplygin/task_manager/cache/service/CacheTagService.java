@@ -0,0 +1,52 @@
+package com.chaplygin.task_manager.cache.service;
+
+import com.chaplygin.task_manager.cache.support.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+@RequiredArgsConstructor
+public class CacheTagService {
+    public static final String TAGS_CACHE = "cacheTags";
+
+    private final CacheManager cacheManager;
+
+    public String getVersion(String tag) {
+        Cache tagsCache = getTagsCache();
+        String version = tagsCache.get(tag, String.class);
+        if (version != null) {
+            return version;
+        }
+
+        String newVersion = newVersion();
+        Cache.ValueWrapper existing = tagsCache.putIfAbsent(tag, newVersion);
+        return existing == null || existing.get() == null ? newVersion : (String) existing.get();
+    }
+
+    public String renew(String tag) {
+        String newVersion = newVersion();
+        getTagsCache().put(tag, newVersion);
+        return newVersion;
+    }
+
+    public void invalidate(Collection<String> tags) {
+        AfterCommit.forEach(tags, this::renew);
+    }
+
+    private Cache getTagsCache() {
+        Cache tagsCache = cacheManager.getCache(TAGS_CACHE);
+        if (tagsCache == null) {
+            throw new IllegalStateException("Cache '%s' is not configured".formatted(TAGS_CACHE));
+        }
+        return tagsCache;
+    }
+
+    private String newVersion() {
+        return Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+}
@@ -0,0 +1,8 @@
+package com.chaplygin.task_manager.cache.singleflight;
+
+public interface LoadLock {
+
+    boolean tryLock(String key);
+
+    void unlock(String key);
+}
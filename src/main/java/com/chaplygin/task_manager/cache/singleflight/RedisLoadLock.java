@@ -0,0 +1,35 @@
+package com.chaplygin.task_manager.cache.singleflight;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+public class RedisLoadLock implements LoadLock {
+    private static final RedisScript<Long> UNLOCK_SCRIPT = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class
+    );
+
+    private final String owner = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration lockTtl;
+
+    public RedisLoadLock(StringRedisTemplate redisTemplate, Duration lockTtl) {
+        this.redisTemplate = redisTemplate;
+        this.lockTtl = lockTtl;
+    }
+
+    @Override
+    public boolean tryLock(String key) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, owner, lockTtl));
+    }
+
+    @Override
+    public void unlock(String key) {
+        redisTemplate.execute(UNLOCK_SCRIPT, List.of(key), owner);
+    }
+}
@@ -0,0 +1,180 @@
+package com.chaplygin.task_manager.cache.singleflight;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.cache.Cache;
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+ * Concurrent misses for the same key on this node share one in-flight load. With a LoadLock the
+ * node that loses the lock polls the cache for up to maxWait instead of querying the database,
+ * and loads itself only when the lock holder did not finish in time.
+ */
+public class SingleFlightCache implements Cache {
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
+    private final Cache cache;
+    private final LoadLock loadLock;
+    private final Duration maxWait;
+    private final Duration pollInterval;
+    private final Counter loads;
+    private final Counter localCoalescedLoads;
+    private final Counter remoteCoalescedLoads;
+
+    public SingleFlightCache(
+            Cache cache,
+            LoadLock loadLock,
+            Duration maxWait,
+            Duration pollInterval,
+            Counter loads,
+            Counter localCoalescedLoads,
+            Counter remoteCoalescedLoads
+    ) {
+        this.cache = cache;
+        this.loadLock = loadLock;
+        this.maxWait = maxWait;
+        this.pollInterval = pollInterval;
+        this.loads = loads;
+        this.localCoalescedLoads = localCoalescedLoads;
+        this.remoteCoalescedLoads = remoteCoalescedLoads;
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return cache.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return cache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(@NonNull Object key) {
+        return cache.get(key);
+    }
+
+    @Override
+    public <T> T get(@NonNull Object key, Class<T> type) {
+        return cache.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightLoad = inFlightLoads.putIfAbsent(key, load);
+        if (inFlightLoad != null) {
+            localCoalescedLoads.increment();
+            try {
+                return (T) inFlightLoad.join();
+            } catch (CompletionException e) {
+                throw loadFailure(key, valueLoader, e.getCause());
+            }
+        }
+
+        try {
+            Object value = loadOnce(key, valueLoader);
+            load.complete(value);
+            return (T) value;
+        } catch (Throwable e) {
+            load.completeExceptionally(e);
+            throw loadFailure(key, valueLoader, e);
+        } finally {
+            inFlightLoads.remove(key, load);
+        }
+    }
+
+    @Override
+    public void put(@NonNull Object key, Object value) {
+        cache.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, Object value) {
+        return cache.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        cache.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+
+    private Object loadOnce(Object key, Callable<?> valueLoader) throws Exception {
+        ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            return cached.get();
+        }
+
+        if (loadLock == null) {
+            return load(key, valueLoader);
+        }
+
+        String lockKey = "%s:%s".formatted(getName(), key);
+        if (loadLock.tryLock(lockKey)) {
+            try {
+                return load(key, valueLoader);
+            } finally {
+                loadLock.unlock(lockKey);
+            }
+        }
+
+        ValueWrapper loadedElsewhere = awaitRemoteLoad(key);
+        if (loadedElsewhere != null) {
+            remoteCoalescedLoads.increment();
+            return loadedElsewhere.get();
+        }
+        return load(key, valueLoader);
+    }
+
+    private ValueWrapper awaitRemoteLoad(Object key) {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        try {
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(pollInterval);
+                ValueWrapper cached = cache.get(key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) throws Exception {
+        loads.increment();
+        Object value = valueLoader.call();
+        cache.put(key, value);
+        return value;
+    }
+
+    private RuntimeException loadFailure(Object key, Callable<?> valueLoader, Throwable cause) {
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause instanceof ValueRetrievalException valueRetrievalException) {
+            return valueRetrievalException;
+        }
+        return new ValueRetrievalException(key, valueLoader, cause);
+    }
+}
@@ -0,0 +1,80 @@
+package com.chaplygin.task_manager.cache.singleflight;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class SingleFlightCacheManager implements CacheManager {
+    private static final String LOADS_METRIC = "cache.loads";
+    private static final String COALESCED_LOADS_METRIC = "cache.loads.coalesced";
+
+    private final ConcurrentMap<String, SingleFlightCache> singleFlightCaches = new ConcurrentHashMap<>();
+
+    private final CacheManager cacheManager;
+    private final LoadLock loadLock;
+    private final Duration maxWait;
+    private final Duration pollInterval;
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlightCacheManager(
+            CacheManager cacheManager,
+            LoadLock loadLock,
+            Duration maxWait,
+            Duration pollInterval,
+            MeterRegistry meterRegistry
+    ) {
+        this.cacheManager = cacheManager;
+        this.loadLock = loadLock;
+        this.maxWait = maxWait;
+        this.pollInterval = pollInterval;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(@NonNull String name) {
+        SingleFlightCache singleFlightCache = singleFlightCaches.get(name);
+        if (singleFlightCache != null) {
+            return singleFlightCache;
+        }
+
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            return null;
+        }
+        return singleFlightCaches.computeIfAbsent(name, cacheName -> createSingleFlightCache(cache));
+    }
+
+    @Override
+    @NonNull
+    public Collection<String> getCacheNames() {
+        return cacheManager.getCacheNames();
+    }
+
+    private SingleFlightCache createSingleFlightCache(Cache cache) {
+        String cacheName = cache.getName();
+        return new SingleFlightCache(
+                cache,
+                loadLock,
+                maxWait,
+                pollInterval,
+                Counter.builder(LOADS_METRIC)
+                        .tag("cache", cacheName)
+                        .register(meterRegistry),
+                Counter.builder(COALESCED_LOADS_METRIC)
+                        .tag("cache", cacheName)
+                        .tag("scope", "local")
+                        .register(meterRegistry),
+                Counter.builder(COALESCED_LOADS_METRIC)
+                        .tag("cache", cacheName)
+                        .tag("scope", "remote")
+                        .register(meterRegistry)
+        );
+    }
+}
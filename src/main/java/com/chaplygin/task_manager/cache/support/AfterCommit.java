@@ -0,0 +1,47 @@
+package com.chaplygin.task_manager.cache.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/*
+ * Failures are logged and swallowed: the write has committed, and a failed cache update must not
+ * turn it into an error response.
+ */
+@Slf4j
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runLogged(action);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runLogged(action);
+            }
+        });
+    }
+
+    public static <T> void forEach(Collection<T> items, Consumer<T> action) {
+        List<T> itemsCopy = List.copyOf(items);
+        run(() -> itemsCopy.forEach(item -> runLogged(() -> action.accept(item))));
+    }
+
+    private static void runLogged(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.warn("After-commit cache update failed", e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.chaplygin.task_manager.cache.support;
+
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.Topic;
+
+public record CacheInvalidationSubscription(MessageListener listener, Topic topic) {
+}
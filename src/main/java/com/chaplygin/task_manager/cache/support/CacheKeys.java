@@ -0,0 +1,29 @@
+package com.chaplygin.task_manager.cache.support;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/*
+ * Each part is written as its length and value, and null as "-", so values containing the
+ * separator cannot make two different argument lists share a key.
+ */
+public final class CacheKeys {
+    private static final String NULL_PART = "-";
+
+    private CacheKeys() {
+    }
+
+    public static String encode(Object... parts) {
+        return Arrays.stream(parts)
+                .map(CacheKeys::encodePart)
+                .collect(Collectors.joining(","));
+    }
+
+    private static String encodePart(Object part) {
+        if (part == null) {
+            return NULL_PART;
+        }
+        String value = part.toString();
+        return value.length() + ":" + value;
+    }
+}
@@ -0,0 +1,108 @@
+package com.chaplygin.task_manager.comment.cache;
+
+import com.chaplygin.task_manager.cache.service.CacheTagService;
+import com.chaplygin.task_manager.cache.support.AfterCommit;
+import com.chaplygin.task_manager.comment.dto.CommentPagedListResponseDto;
+import com.chaplygin.task_manager.comment.dto.CommentResponseDtoFull;
+import com.chaplygin.task_manager.comment.repository.CommentRepository;
+import com.chaplygin.task_manager.comment.repository.CommentStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/*
+ * Comments are append-only and paged by id, so a new comment only changes the last page. Saving
+ * one renews the task's generation, then copies the previous last page into the new generation
+ * with the comment appended. The stats are read in the saving transaction, and the copy is made
+ * only when they show the new comment is the last one and match the cached previous last page;
+ * otherwise the page is reloaded on the next read.
+ */
+@Component("commentPageCache")
+@RequiredArgsConstructor
+public class CommentPageCache {
+    public static final String COMMENTS_CACHE = "comments";
+    private static final String TASK_TAG_PREFIX = "comments:task:";
+
+    private final CacheTagService cacheTagService;
+    private final CacheManager cacheManager;
+    private final CommentRepository commentRepository;
+
+    @Value("${taskManager.cache.comments.inPlacePageSizes}")
+    private List<Integer> inPlacePageSizes;
+
+    public String keyFor(Long taskId, int page, int size) {
+        return keyFor(taskId, cacheTagService.getVersion(taskTag(taskId)), page, size);
+    }
+
+    public void append(Long taskId, Long commentId, CommentResponseDtoFull comment) {
+        CommentStats stats = commentRepository.findStatsByTaskId(taskId);
+        AfterCommit.run(() -> {
+            String tag = taskTag(taskId);
+            String previousVersion = cacheTagService.getVersion(tag);
+            String version = cacheTagService.renew(tag);
+
+            if (!commentId.equals(stats.getLastId())) {
+                return;
+            }
+            inPlacePageSizes.forEach(size ->
+                    appendToLastPage(taskId, previousVersion, version, stats.getTotal(), size, comment)
+            );
+        });
+    }
+
+    private void appendToLastPage(
+            Long taskId,
+            String previousVersion,
+            String version,
+            long total,
+            int size,
+            CommentResponseDtoFull comment
+    ) {
+        long previousTotal = total - 1;
+        if (previousTotal <= 0) {
+            return;
+        }
+        Cache cache = getCommentsCache();
+        int previousTotalPages = (int) ((previousTotal + size - 1) / size);
+        CommentPagedListResponseDto previousLastPage = cache.get(
+                keyFor(taskId, previousVersion, previousTotalPages, size),
+                CommentPagedListResponseDto.class
+        );
+        if (previousLastPage == null
+                || previousLastPage.totalPages() != previousTotalPages
+                || previousLastPage.comments().size() != previousTotal - (long) (previousTotalPages - 1) * size) {
+            return;
+        }
+
+        int lastPage = (int) (previousTotal / size) + 1;
+        List<CommentResponseDtoFull> comments = lastPage == previousTotalPages
+                ? Stream.concat(previousLastPage.comments().stream(), Stream.of(comment)).toList()
+                : List.of(comment);
+        int totalPages = (int) ((total + size - 1) / size);
+        cache.put(
+                keyFor(taskId, version, lastPage, size),
+                new CommentPagedListResponseDto(comments, lastPage - 1, size, totalPages)
+        );
+    }
+
+    private String keyFor(Long taskId, String version, int page, int size) {
+        return "task:%d:%s:%d:%d".formatted(taskId, version, page, size);
+    }
+
+    private String taskTag(Long taskId) {
+        return TASK_TAG_PREFIX + taskId;
+    }
+
+    private Cache getCommentsCache() {
+        Cache commentsCache = cacheManager.getCache(COMMENTS_CACHE);
+        if (commentsCache == null) {
+            throw new IllegalStateException("Cache '%s' is not configured".formatted(COMMENTS_CACHE));
+        }
+        return commentsCache;
+    }
+}
@@ -2,6 +2,7 @@ package com.chaplygin.task_manager.comment.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.io.Serializable;
 import java.util.List;
 
 @Schema(description = "Comment list with paging info")
@@ -14,5 +15,5 @@ public record CommentPagedListResponseDto(
         int size,
         @Schema(description = "Comment list total pages", example = "5")
         int totalPages
-) {
+) implements Serializable {
 }
@@ -4,7 +4,12 @@ import com.chaplygin.task_manager.comment.model.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     Page<Comment> findByTaskId(Long taskId, Pageable pageable);
+
+    @Query("select count(c) as total, max(c.id) as lastId from Comment c where c.task.id = :taskId")
+    CommentStats findStatsByTaskId(@Param("taskId") Long taskId);
 }
@@ -0,0 +1,8 @@
+package com.chaplygin.task_manager.comment.repository;
+
+public interface CommentStats {
+
+    long getTotal();
+
+    Long getLastId();
+}
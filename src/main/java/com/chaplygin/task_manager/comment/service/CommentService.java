@@ -1,13 +1,16 @@
 package com.chaplygin.task_manager.comment.service;
 
+import com.chaplygin.task_manager.comment.cache.CommentPageCache;
+import com.chaplygin.task_manager.comment.dto.CommentPagedListResponseDto;
+import com.chaplygin.task_manager.comment.mapper.CommentListMapper;
+import com.chaplygin.task_manager.comment.mapper.CommentMapper;
 import com.chaplygin.task_manager.comment.model.Comment;
 import com.chaplygin.task_manager.comment.repository.CommentRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,18 +18,26 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class CommentService {
     private final CommentRepository commentRepository;
+    private final CommentListMapper commentListMapper;
+    private final CommentMapper commentMapper;
+    private final CommentPageCache commentPageCache;
 
     @Transactional
-    @CacheEvict(value = "comments", key = "#comment.task.id")
     public Comment saveComment(Comment comment) {
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        commentPageCache.append(
+                savedComment.getTask().getId(),
+                savedComment.getId(),
+                commentMapper.mapCommentToCommentResponseDto(savedComment)
+        );
+        return savedComment;
     }
 
     @Transactional
-    @Cacheable(value = "comments", key = "#taskId")
-    public Page<Comment> getCommentsByTaskId(Long taskId, int page, int size) {
-        Pageable pageable = PageRequest.of(page - 1, size);
+    @Cacheable(value = "comments", key = "@commentPageCache.keyFor(#taskId, #page, #size)", sync = true)
+    public CommentPagedListResponseDto getCommentsByTaskId(Long taskId, int page, int size) {
+        Pageable pageable = PageRequest.of(page - 1, size, Sort.by("id"));
 
-        return commentRepository.findByTaskId(taskId, pageable);
+        return commentListMapper.pageToCommentPagedListResponseDto(commentRepository.findByTaskId(taskId, pageable));
     }
 }
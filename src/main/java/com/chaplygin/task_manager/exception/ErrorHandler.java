@@ -25,6 +25,37 @@ public class ErrorHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(appErrorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursorException(InvalidCursorException ex) {
+        AppErrorResponse appErrorResponse = new AppErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Cursor error: '%s'".formatted(ex.getMessage())
+        );
+
+        return new ResponseEntity<>(appErrorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidSearchQueryException.class)
+    public ResponseEntity<Object> handleInvalidSearchQueryException(InvalidSearchQueryException ex) {
+        AppErrorResponse appErrorResponse = new AppErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Search error: '%s'".formatted(ex.getMessage())
+        );
+
+        return new ResponseEntity<>(appErrorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidTaskBatchException.class)
+    public ResponseEntity<Object> handleInvalidTaskBatchException(InvalidTaskBatchException ex) {
+        AppBatchErrorResponse appBatchErrorResponse = new AppBatchErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Batch error: '%s'".formatted(ex.getMessage()),
+                ex.getErrors()
+        );
+
+        return new ResponseEntity<>(appBatchErrorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(AccessTokenExpiredException.class)
     public ResponseEntity<Object> handleAccessTokenExpiredException(AccessTokenExpiredException ex) {
         AppErrorResponse appErrorResponse = new AppErrorResponse(
@@ -35,6 +66,16 @@ public class ErrorHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(appErrorResponse, HttpStatus.UNAUTHORIZED);
     }
 
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<Object> handleInvalidRefreshTokenException(InvalidRefreshTokenException ex) {
+        AppErrorResponse appErrorResponse = new AppErrorResponse(
+                HttpStatus.UNAUTHORIZED.value(),
+                "Refresh token error: '%s'".formatted(ex.getMessage())
+        );
+
+        return new ResponseEntity<>(appErrorResponse, HttpStatus.UNAUTHORIZED);
+    }
+
     @ExceptionHandler(AccessTokenSignatureException.class)
     public ResponseEntity<Object> handleAccessTokenSignatureException(AccessTokenSignatureException ex) {
         AppErrorResponse appErrorResponse = new AppErrorResponse(
@@ -65,6 +106,18 @@ public class ErrorHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(appErrorResponse, HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Object> handlePasswordHashingBusyException(PasswordHashingBusyException ex) {
+        AppErrorResponse appErrorResponse = new AppErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(appErrorResponse);
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex,
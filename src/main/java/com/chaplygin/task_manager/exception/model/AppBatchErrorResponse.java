@@ -0,0 +1,30 @@
+package com.chaplygin.task_manager.exception.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "App error response of a batch request, with the errors of each invalid item")
+public class AppBatchErrorResponse {
+    @Schema(description = "HTTP Status", example = "400")
+    int status;
+    @Schema(description = "Message", example = "Batch error: '2 of 10 tasks are invalid'")
+    String message;
+    @Schema(description = "Errors of the invalid items")
+    List<TaskBatchItemError> errors;
+    @Schema(description = "Timestamp", example = "2024-06-04T22:40:46.7924577")
+    LocalDateTime timestamp;
+
+    public AppBatchErrorResponse(int status, String message, List<TaskBatchItemError> errors) {
+        this.status = status;
+        this.message = message;
+        this.errors = errors;
+        this.timestamp = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,7 @@
+package com.chaplygin.task_manager.exception.model;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.chaplygin.task_manager.exception.model;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
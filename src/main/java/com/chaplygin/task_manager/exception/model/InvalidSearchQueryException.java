@@ -0,0 +1,7 @@
+package com.chaplygin.task_manager.exception.model;
+
+public class InvalidSearchQueryException extends RuntimeException {
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+}
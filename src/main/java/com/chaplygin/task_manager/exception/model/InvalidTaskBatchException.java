@@ -0,0 +1,15 @@
+package com.chaplygin.task_manager.exception.model;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class InvalidTaskBatchException extends RuntimeException {
+    private final List<TaskBatchItemError> errors;
+
+    public InvalidTaskBatchException(String message, List<TaskBatchItemError> errors) {
+        super(message);
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,7 @@
+package com.chaplygin.task_manager.exception.model;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
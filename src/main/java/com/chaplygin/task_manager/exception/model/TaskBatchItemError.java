@@ -0,0 +1,14 @@
+package com.chaplygin.task_manager.exception.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Validation error of one item of a batch request")
+public record TaskBatchItemError(
+        @Schema(description = "Zero-based index of the item in the request", example = "3")
+        int index,
+        @Schema(description = "Invalid field, absent when the whole item is invalid", example = "assigneeId")
+        String field,
+        @Schema(description = "Message", example = "User with id '456' not found")
+        String message
+) {
+}
@@ -1,5 +1,7 @@
 package com.chaplygin.task_manager.permission.annotation;
 
+import com.chaplygin.task_manager.permission.model.TaskAction;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -8,5 +10,5 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface CheckTaskPermission {
-    String action();
+    TaskAction action();
 }
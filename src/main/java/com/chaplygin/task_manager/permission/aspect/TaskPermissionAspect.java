@@ -1,35 +1,34 @@
 package com.chaplygin.task_manager.permission.aspect;
 
 import com.chaplygin.task_manager.permission.annotation.CheckTaskPermission;
-import com.chaplygin.task_manager.permission.strategy.TaskPermissionStrategy;
+import com.chaplygin.task_manager.permission.context.AuthorizedTaskContext;
+import com.chaplygin.task_manager.permission.engine.TaskPermissionEngine;
 import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.task.repository.TaskAccessRow;
 import com.chaplygin.task_manager.task.service.TaskService;
-import com.chaplygin.task_manager.user.model.User;
+import com.chaplygin.task_manager.user.model.AuthenticatedUser;
+import com.chaplygin.task_manager.user.service.CurrentUserService;
 import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
-
 @Aspect
 @Component
 @RequiredArgsConstructor
 public class TaskPermissionAspect {
     private final TaskService taskService;
-    private final Map<String, TaskPermissionStrategy> strategies;
+    private final CurrentUserService currentUserService;
+    private final TaskPermissionEngine taskPermissionEngine;
+    private final AuthorizedTaskContext authorizedTaskContext;
 
     @Before("@annotation(checkTaskPermission) && args(.., taskId)")
     public void checkPermission(CheckTaskPermission checkTaskPermission, Long taskId) {
-        String action = checkTaskPermission.action();
         Task task = taskService.getTaskById(taskId);
-        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        AuthenticatedUser currentUser = currentUserService.getCurrentUser();
 
-        TaskPermissionStrategy strategy = strategies.get(action);
-        if (strategy == null) {
-            throw new UnsupportedOperationException("Unknown permission action: " + action);
-        }
-        strategy.checkPermission(task, currentUser);
+        TaskAccessRow access = new TaskAccessRow(task.getId(), task.getOwner().getId(), task.getAssignee().getId());
+        taskPermissionEngine.check(checkTaskPermission.action(), currentUser, access);
+        authorizedTaskContext.authorize(task, access);
     }
 }
@@ -0,0 +1,35 @@
+package com.chaplygin.task_manager.permission.context;
+
+import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.task.repository.TaskAccessRow;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/*
+ * The task TaskPermissionAspect loaded and authorized for the current request. Handlers take it from
+ * here instead of loading it again, together with its participants as they were before the handler
+ * changed anything, which the list cache invalidation of an update needs.
+ */
+@Component
+@RequestScope
+public class AuthorizedTaskContext {
+    private Task task;
+    private TaskAccessRow access;
+
+    public void authorize(Task task, TaskAccessRow access) {
+        this.task = task;
+        this.access = access;
+    }
+
+    public Task getTask(Long id) {
+        if (task == null || !task.getId().equals(id)) {
+            throw new IllegalStateException("Task id=%d was not authorized in this request".formatted(id));
+        }
+        return task;
+    }
+
+    public TaskAccessRow getAccess(Long id) {
+        getTask(id);
+        return access;
+    }
+}
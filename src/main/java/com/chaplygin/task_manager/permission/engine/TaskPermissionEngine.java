@@ -0,0 +1,66 @@
+package com.chaplygin.task_manager.permission.engine;
+
+import com.chaplygin.task_manager.exception.model.AccessDeniedException;
+import com.chaplygin.task_manager.permission.model.TaskAction;
+import com.chaplygin.task_manager.task.repository.TaskAccessRow;
+import com.chaplygin.task_manager.user.model.AuthenticatedUser;
+import com.chaplygin.task_manager.user.model.Role;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+ * Decides on ids only: the actor's id and role against the owner and assignee ids of a task, as read
+ * by a TaskAccessRow projection or taken from an already mapped DTO. Admins and owners may do
+ * anything, assignees only the actions allowed to them, everyone else nothing. The allowed sets are
+ * fixed, so annotating a page of tasks is one comparison per row.
+ */
+@Component
+public class TaskPermissionEngine {
+    private static final Set<TaskAction> ALL = Collections.unmodifiableSet(EnumSet.allOf(TaskAction.class));
+    private static final Set<TaskAction> ASSIGNEE = Collections.unmodifiableSet(Arrays.stream(TaskAction.values())
+            .filter(TaskAction::isAllowedToAssignee)
+            .collect(Collectors.toCollection(() -> EnumSet.noneOf(TaskAction.class))));
+    private static final Set<TaskAction> NONE = Collections.unmodifiableSet(EnumSet.noneOf(TaskAction.class));
+
+    public boolean isAllowed(TaskAction action, Long actorId, Role role, Long ownerId, Long assigneeId) {
+        return allowedActions(actorId, role, ownerId, assigneeId).contains(action);
+    }
+
+    public boolean isAllowed(TaskAction action, AuthenticatedUser actor, TaskAccessRow task) {
+        return isAllowed(action, actor.getId(), actor.getRole(), task.ownerId(), task.assigneeId());
+    }
+
+    public void check(TaskAction action, AuthenticatedUser actor, TaskAccessRow task) {
+        if (!isAllowed(action, actor, task)) {
+            throw new AccessDeniedException(action.getDeniedMessage());
+        }
+    }
+
+    public Set<TaskAction> allowedActions(Long actorId, Role role, Long ownerId, Long assigneeId) {
+        if (role == Role.ROLE_ADMIN || actorId.equals(ownerId)) {
+            return ALL;
+        }
+        return actorId.equals(assigneeId) ? ASSIGNEE : NONE;
+    }
+
+    /*
+     * Allowed actions of the actor for each task, by task id in iteration order.
+     */
+    public Map<Long, Set<TaskAction>> allowedActions(AuthenticatedUser actor, Collection<TaskAccessRow> tasks) {
+        Map<Long, Set<TaskAction>> allowedActions = new LinkedHashMap<>();
+        for (TaskAccessRow task : tasks) {
+            allowedActions.put(
+                    task.id(), allowedActions(actor.getId(), actor.getRole(), task.ownerId(), task.assigneeId())
+            );
+        }
+        return allowedActions;
+    }
+}
@@ -0,0 +1,16 @@
+package com.chaplygin.task_manager.permission.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum TaskAction {
+    UPDATE_ALL(false, "Only the creator can update this task."),
+    UPDATE_STATUS(true, "You do not have permission to update the status of this task."),
+    UPDATE_ASSIGNEE(false, "You do not have permission to update assignee of this task."),
+    DELETE(false, "You do not have permission to delete this task.");
+
+    private final boolean allowedToAssignee;
+    private final String deniedMessage;
+}
@@ -0,0 +1,67 @@
+package com.chaplygin.task_manager.ratelimit.config;
+
+import com.chaplygin.task_manager.ratelimit.filter.RateLimitFilter;
+import com.chaplygin.task_manager.ratelimit.limiter.LocalTokenBucketRateLimiter;
+import com.chaplygin.task_manager.ratelimit.limiter.RateLimit;
+import com.chaplygin.task_manager.ratelimit.limiter.RateLimitGroup;
+import com.chaplygin.task_manager.ratelimit.limiter.RateLimiter;
+import com.chaplygin.task_manager.ratelimit.limiter.RedisTokenBucketRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Configuration
+@ConditionalOnProperty(name = "taskManager.rateLimit.enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Value("${taskManager.api.prefix}")
+    private String apiPrefix;
+    @Value("${taskManager.rateLimit.shared}")
+    private boolean shared;
+    @Value("${taskManager.rateLimit.keyPrefix}")
+    private String keyPrefix;
+    @Value("${taskManager.rateLimit.maximumSize}")
+    private long maximumSize;
+    @Value("${taskManager.rateLimit.auth.capacity}")
+    private long authCapacity;
+    @Value("${taskManager.rateLimit.auth.period}")
+    private Duration authPeriod;
+    @Value("${taskManager.rateLimit.read.capacity}")
+    private long readCapacity;
+    @Value("${taskManager.rateLimit.read.period}")
+    private Duration readPeriod;
+    @Value("${taskManager.rateLimit.write.capacity}")
+    private long writeCapacity;
+    @Value("${taskManager.rateLimit.write.period}")
+    private Duration writePeriod;
+
+    @Bean
+    public RateLimiter rateLimiter(ObjectProvider<StringRedisTemplate> redisTemplate) {
+        if (shared) {
+            return new RedisTokenBucketRateLimiter(redisTemplate.getObject(), keyPrefix);
+        }
+        Duration idleTtl = Stream.of(authPeriod, readPeriod, writePeriod)
+                .max(Duration::compareTo)
+                .orElseThrow();
+        return new LocalTokenBucketRateLimiter(maximumSize, idleTtl, System::nanoTime);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        Map<RateLimitGroup, RateLimit> limits = new EnumMap<>(RateLimitGroup.class);
+        limits.put(RateLimitGroup.AUTH, new RateLimit(authCapacity, authPeriod));
+        limits.put(RateLimitGroup.READ, new RateLimit(readCapacity, readPeriod));
+        limits.put(RateLimitGroup.WRITE, new RateLimit(writeCapacity, writePeriod));
+        return new RateLimitFilter(rateLimiter, objectMapper, apiPrefix, Collections.unmodifiableMap(limits));
+    }
+}
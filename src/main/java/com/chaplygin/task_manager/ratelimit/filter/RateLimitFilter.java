@@ -0,0 +1,101 @@
+package com.chaplygin.task_manager.ratelimit.filter;
+
+import com.chaplygin.task_manager.exception.model.AppErrorResponse;
+import com.chaplygin.task_manager.ratelimit.limiter.RateLimit;
+import com.chaplygin.task_manager.ratelimit.limiter.RateLimitGroup;
+import com.chaplygin.task_manager.ratelimit.limiter.RateLimiter;
+import com.chaplygin.task_manager.user.model.AuthenticatedUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Must run after JwtAuthenticationFilter; requests without a user are limited per client IP.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final String apiPrefix;
+    private final String authPrefix;
+    private final Map<RateLimitGroup, RateLimit> limits;
+
+    public RateLimitFilter(
+            RateLimiter rateLimiter,
+            ObjectMapper objectMapper,
+            String apiPrefix,
+            Map<RateLimitGroup, RateLimit> limits
+    ) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.apiPrefix = apiPrefix + "/";
+        this.authPrefix = apiPrefix + "/auth/";
+        this.limits = limits;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(apiPrefix);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RateLimitGroup group = groupOf(request);
+        long waitNanos = rateLimiter.tryAcquire(group.name() + ":" + clientOf(request, group), limits.get(group));
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitGroup groupOf(HttpServletRequest request) {
+        if (request.getRequestURI().startsWith(authPrefix)) {
+            return RateLimitGroup.AUTH;
+        }
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                ? RateLimitGroup.READ
+                : RateLimitGroup.WRITE;
+    }
+
+    private String clientOf(HttpServletRequest request, RateLimitGroup group) {
+        if (group != RateLimitGroup.AUTH) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+                return "user:" + user.getId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.ceilDiv(waitNanos, TimeUnit.SECONDS.toNanos(1));
+        AppErrorResponse appErrorResponse = new AppErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too many requests, retry after %d seconds".formatted(retryAfterSeconds)
+        );
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(objectMapper.writeValueAsString(appErrorResponse));
+        response.getWriter().flush();
+    }
+}
@@ -0,0 +1,42 @@
+package com.chaplygin.task_manager.ratelimit.limiter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/*
+ * idleTtl must not be shorter than the longest period, after which an idle bucket is full.
+ */
+public class LocalTokenBucketRateLimiter implements RateLimiter {
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoTime;
+
+    public LocalTokenBucketRateLimiter(long maximumSize, Duration idleTtl, LongSupplier nanoTime) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(idleTtl)
+                .build();
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimit limit) {
+        AtomicLong fullAt = buckets.get(key, ignored -> new AtomicLong(nanoTime.getAsLong()));
+        long interval = limit.intervalNanos();
+        long burst = limit.burstNanos();
+        while (true) {
+            long now = nanoTime.getAsLong();
+            long current = fullAt.get();
+            long next = Math.max(current - now, 0) + interval;
+            if (next > burst) {
+                return next - burst;
+            }
+            if (fullAt.compareAndSet(current, now + next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.chaplygin.task_manager.ratelimit.limiter;
+
+import java.time.Duration;
+
+/*
+ * capacity requests per period, all of which may arrive at once. Afterwards one request is admitted
+ * every period / capacity.
+ */
+public record RateLimit(long capacity, Duration period) {
+
+    public RateLimit {
+        if (capacity <= 0 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit needs a positive capacity and period");
+        }
+    }
+
+    public long intervalNanos() {
+        return period.toNanos() / capacity;
+    }
+
+    public long burstNanos() {
+        return intervalNanos() * capacity;
+    }
+}
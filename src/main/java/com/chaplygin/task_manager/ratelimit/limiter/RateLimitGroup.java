@@ -0,0 +1,7 @@
+package com.chaplygin.task_manager.ratelimit.limiter;
+
+public enum RateLimitGroup {
+    AUTH,
+    READ,
+    WRITE
+}
@@ -0,0 +1,10 @@
+package com.chaplygin.task_manager.ratelimit.limiter;
+
+public interface RateLimiter {
+
+    /*
+     * Takes one token from the bucket of key. Returns 0 if the request is admitted, otherwise the
+     * nanoseconds until the next token is available.
+     */
+    long tryAcquire(String key, RateLimit limit);
+}
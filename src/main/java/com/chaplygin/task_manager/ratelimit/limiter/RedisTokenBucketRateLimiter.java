@@ -0,0 +1,57 @@
+package com.chaplygin.task_manager.ratelimit.limiter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * The GCRA bucket of LocalTokenBucketRateLimiter, shared by all nodes. The script reads the clock
+ * of the Redis server, so nodes need not agree on time, and costs one round trip per request.
+ * Times are in microseconds; a key expires when its bucket is full again. When Redis is
+ * unreachable requests are admitted rather than failed.
+ */
+@Slf4j
+public class RedisTokenBucketRateLimiter implements RateLimiter {
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local interval = tonumber(ARGV[1])
+            local burst = tonumber(ARGV[2])
+            local fullAt = tonumber(redis.call('GET', KEYS[1]) or now)
+            local next = math.max(fullAt - now, 0) + interval
+            if next > burst then
+                return next - burst
+            end
+            redis.call('SET', KEYS[1], now + next, 'PX', math.ceil(next / 1000))
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+
+    public RedisTokenBucketRateLimiter(StringRedisTemplate redisTemplate, String keyPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimit limit) {
+        Long waitMicros;
+        try {
+            waitMicros = redisTemplate.execute(
+                    ACQUIRE_SCRIPT,
+                    List.of(keyPrefix + key),
+                    String.valueOf(TimeUnit.NANOSECONDS.toMicros(limit.intervalNanos())),
+                    String.valueOf(TimeUnit.NANOSECONDS.toMicros(limit.burstNanos()))
+            );
+        } catch (DataAccessException e) {
+            log.warn("Rate limit check for '{}' failed, request admitted: {}", key, e.getMessage());
+            return 0;
+        }
+        return waitMicros == null ? 0 : TimeUnit.MICROSECONDS.toNanos(waitMicros);
+    }
+}
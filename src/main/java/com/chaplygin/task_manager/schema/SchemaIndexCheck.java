@@ -0,0 +1,79 @@
+package com.chaplygin.task_manager.schema;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * The indexes below are created by the Flyway migrations and the list and search queries are
+ * written against them. A database that is missing one, or holds an invalid one left by a failed
+ * concurrent build, still answers every query, only with sequential scans, so report it at startup
+ * instead of finding out from latency.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "taskManager.schema.indexCheck.enabled", havingValue = "true")
+public class SchemaIndexCheck implements ApplicationRunner {
+    static final List<String> EXPECTED_INDEXES = List.of(
+            "idx_tasks_owner_id_id",
+            "idx_tasks_assignee_id_id",
+            "idx_tasks_status_id",
+            "idx_tasks_priority_id",
+            "idx_tasks_title_id",
+            "idx_tasks_title_trgm",
+            "idx_tasks_description_trgm",
+            "idx_tasks_search_vector_english",
+            "idx_tasks_search_vector_russian",
+            "idx_tasks_search_vector_simple",
+            "idx_comments_task_id_id",
+            "idx_comments_author_id",
+            "idx_refresh_tokens_token_hash",
+            "idx_refresh_tokens_family_id",
+            "idx_refresh_tokens_user_id",
+            "idx_refresh_tokens_expires_at"
+    );
+    private static final String VALID_INDEXES_QUERY = """
+            SELECT c.relname
+            FROM pg_index i
+                     JOIN pg_class c ON c.oid = i.indexrelid
+                     JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE n.nspname = current_schema()
+              AND i.indisvalid""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${taskManager.schema.indexCheck.failOnMissing}")
+    private boolean failOnMissing;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> missingIndexes = findMissingIndexes();
+        if (missingIndexes.isEmpty()) {
+            log.info("All {} expected indexes are present", EXPECTED_INDEXES.size());
+            return;
+        }
+        String message = "Missing or invalid indexes %s, queries that need them will scan the table"
+                .formatted(missingIndexes);
+        if (failOnMissing) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    public List<String> findMissingIndexes() {
+        Set<String> validIndexes = new HashSet<>(jdbcTemplate.queryForList(VALID_INDEXES_QUERY, String.class));
+        return EXPECTED_INDEXES.stream()
+                .filter(index -> !validIndexes.contains(index))
+                .toList();
+    }
+}
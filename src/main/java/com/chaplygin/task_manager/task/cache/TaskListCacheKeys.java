@@ -0,0 +1,67 @@
+package com.chaplygin.task_manager.task.cache;
+
+import com.chaplygin.task_manager.cache.service.CacheTagService;
+import com.chaplygin.task_manager.cache.support.CacheKeys;
+import com.chaplygin.task_manager.task.model.Task;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+@Component("taskListCacheKeys")
+@RequiredArgsConstructor
+public class TaskListCacheKeys {
+    private static final String ALL_TAG = "tasks:all";
+    private static final String OWNER_TAG_PREFIX = "tasks:owner:";
+    private static final String ASSIGNEE_TAG_PREFIX = "tasks:assignee:";
+
+    private final CacheTagService cacheTagService;
+
+    public String forAll(Object[] args) {
+        return "all:%s:%s".formatted(
+                cacheTagService.getVersion(ALL_TAG),
+                CacheKeys.encode(args)
+        );
+    }
+
+    public String forOwner(Long ownerId, Object[] args) {
+        return "owner:%d:%s:%s".formatted(
+                ownerId,
+                cacheTagService.getVersion(ownerTag(ownerId)),
+                CacheKeys.encode(args)
+        );
+    }
+
+    public String forAssignee(Long assigneeId, Object[] args) {
+        return "assignee:%d:%s:%s".formatted(
+                assigneeId,
+                cacheTagService.getVersion(assigneeTag(assigneeId)),
+                CacheKeys.encode(args)
+        );
+    }
+
+    public String forUser(Long userId, Object[] args) {
+        return "user:%d:%s:%s:%s".formatted(
+                userId,
+                cacheTagService.getVersion(ownerTag(userId)),
+                cacheTagService.getVersion(assigneeTag(userId)),
+                CacheKeys.encode(args)
+        );
+    }
+
+    public Set<String> tagsOf(Task task) {
+        return tagsOf(task.getOwner().getId(), task.getAssignee().getId());
+    }
+
+    public Set<String> tagsOf(Long ownerId, Long assigneeId) {
+        return Set.of(ALL_TAG, ownerTag(ownerId), assigneeTag(assigneeId));
+    }
+
+    private String ownerTag(Long ownerId) {
+        return OWNER_TAG_PREFIX + ownerId;
+    }
+
+    private String assigneeTag(Long assigneeId) {
+        return ASSIGNEE_TAG_PREFIX + assigneeId;
+    }
+}
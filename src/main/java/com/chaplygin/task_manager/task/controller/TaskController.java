@@ -2,23 +2,32 @@ package com.chaplygin.task_manager.task.controller;
 
 import com.chaplygin.task_manager.comment.dto.CommentCreateDto;
 import com.chaplygin.task_manager.comment.dto.CommentPagedListResponseDto;
-import com.chaplygin.task_manager.comment.mapper.CommentListMapper;
 import com.chaplygin.task_manager.comment.mapper.CommentMapper;
 import com.chaplygin.task_manager.comment.model.Comment;
 import com.chaplygin.task_manager.comment.service.CommentService;
+import com.chaplygin.task_manager.exception.model.AppBatchErrorResponse;
 import com.chaplygin.task_manager.exception.model.AppErrorResponse;
 import com.chaplygin.task_manager.permission.annotation.CheckTaskPermission;
+import com.chaplygin.task_manager.permission.context.AuthorizedTaskContext;
+import com.chaplygin.task_manager.permission.engine.TaskPermissionEngine;
+import com.chaplygin.task_manager.permission.model.TaskAction;
 import com.chaplygin.task_manager.task.dto.*;
-import com.chaplygin.task_manager.task.mapper.TaskListMapper;
 import com.chaplygin.task_manager.task.mapper.TaskMapper;
 import com.chaplygin.task_manager.task.model.Priority;
 import com.chaplygin.task_manager.task.model.Status;
 import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.task.pagination.CountMode;
+import com.chaplygin.task_manager.task.repository.TaskAccessRow;
+import com.chaplygin.task_manager.task.service.TaskBatchService;
+import com.chaplygin.task_manager.task.service.TaskSearchService;
 import com.chaplygin.task_manager.task.service.TaskService;
 import com.chaplygin.task_manager.user.model.User;
+import com.chaplygin.task_manager.user.service.CurrentUserService;
+import com.chaplygin.task_manager.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -27,11 +36,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("${taskManager.api.prefix}/tasks")
@@ -39,11 +48,15 @@ import org.springframework.web.bind.annotation.*;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskSearchService taskSearchService;
+    private final TaskBatchService taskBatchService;
     private final CommentService commentService;
     private final TaskMapper taskMapper;
-    private final TaskListMapper taskListMapper;
     private final CommentMapper commentMapper;
-    private final CommentListMapper commentListMapper;
+    private final CurrentUserService currentUserService;
+    private final UserService userService;
+    private final AuthorizedTaskContext authorizedTaskContext;
+    private final TaskPermissionEngine taskPermissionEngine;
 
     @Operation(summary = "Create task", description = "Creating task and returning DTO",
             responses = {
@@ -71,14 +84,60 @@ public class TaskController {
     public TaskResponseDtoNoComments createTask(
             @Valid @RequestBody TaskCreateDto taskCreateDto
     ) {
-        Task task = taskMapper.mapCreateDtoToTask(taskCreateDto);
-        task.setStatus(Status.NEW);
-        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        task.setOwner(currentUser);
+        User currentUser = currentUserService.getCurrentUserReference();
+        User assignee = userService.findById(taskCreateDto.assigneeId());
+        Task task = taskMapper.mapCreateDtoToTask(taskCreateDto, currentUser, assignee);
         Task savedTask = taskService.saveTask(task);
         return taskMapper.mapTaskToResponseDtoNoComments(savedTask);
     }
 
+    @Operation(
+            summary = "Create tasks in a batch",
+            description = "Creates all given tasks, owned by the current user, in one transaction. If any task is" +
+                    " invalid or refers to an unknown assignee, none is created and the errors of every invalid" +
+                    " task are returned.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "201",
+                            description = "Tasks created, in request order",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = TaskResponseDtoNoComments.class))
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Empty or oversized batch, or invalid tasks",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = AppBatchErrorResponse.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                                "status": 400,
+                                                "message": "Batch error: '1 of 2 tasks are invalid'",
+                                                "errors": [
+                                                    {
+                                                        "index": 1,
+                                                        "field": "assigneeId",
+                                                        "message": "User with id '456' not found"
+                                                    }
+                                                ],
+                                                "timestamp": "2024-06-04T22:40:46.7924577"
+                                            }""")
+                            )
+                    )
+            })
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<TaskResponseDtoNoComments> createTasks(
+            @RequestBody List<TaskCreateDto> taskCreateDtos
+    ) {
+        User currentUser = currentUserService.getCurrentUserReference();
+        return taskBatchService.createTasks(taskCreateDtos, currentUser).stream()
+                .map(taskMapper::mapTaskToResponseDtoNoComments)
+                .toList();
+    }
+
     @Operation(
             summary = "Get all tasks",
             description = "Retrieves a paginated list of tasks with optional filters for title, description," +
@@ -147,12 +206,19 @@ public class TaskController {
             @RequestParam(value = "sortBy", defaultValue = "id") String sortBy,
 
             @Parameter(description = "Sort direction: 'asc' for ascending, 'desc' for descending", example = "asc")
-            @RequestParam(value = "sortDirection", defaultValue = "asc") String sortDirection
+            @RequestParam(value = "sortDirection", defaultValue = "asc") String sortDirection,
+
+            @Parameter(description = "Switches to cursor pagination, which ignores 'page': pass an empty value" +
+                    " for the first page, then 'nextCursor' of the previous response", example = "")
+            @RequestParam(value = "cursor", required = false) String cursor,
+
+            @Parameter(description = "How totalPages is computed: 'exact' runs a count query, 'estimate' uses a" +
+                    " planner estimate or a briefly cached count, 'none' only reports hasNext", example = "exact")
+            @RequestParam(value = "count", defaultValue = "exact") CountMode count
     ) {
-        Page<Task> taskPage = taskService.getAllTasks(
-                page, size, title, description, status, priority, sortBy, sortDirection
-        );
-        return taskListMapper.pageToTaskPagedListResponseDto(taskPage);
+        return withAllowedActions(taskService.getAllTasks(
+                page, size, title, description, status, priority, sortBy, sortDirection, cursor, count
+        ));
     }
 
     @Operation(
@@ -240,12 +306,19 @@ public class TaskController {
             @RequestParam(value = "sortBy", defaultValue = "id") String sortBy,
 
             @Parameter(description = "Sort direction: 'asc' for ascending, 'desc' for descending", example = "asc")
-            @RequestParam(value = "sortDirection", defaultValue = "asc") String sortDirection
+            @RequestParam(value = "sortDirection", defaultValue = "asc") String sortDirection,
+
+            @Parameter(description = "Switches to cursor pagination, which ignores 'page': pass an empty value" +
+                    " for the first page, then 'nextCursor' of the previous response", example = "")
+            @RequestParam(value = "cursor", required = false) String cursor,
+
+            @Parameter(description = "How totalPages is computed: 'exact' runs a count query, 'estimate' uses a" +
+                    " planner estimate or a briefly cached count, 'none' only reports hasNext", example = "exact")
+            @RequestParam(value = "count", defaultValue = "exact") CountMode count
     ) {
-        Page<Task> taskPage = taskService.getTasksForUser(
-                page, size, title, description, status, priority, sortBy, sortDirection, userId
-        );
-        return taskListMapper.pageToTaskPagedListResponseDto(taskPage);
+        return withAllowedActions(taskService.getTasksForUser(
+                page, size, title, description, status, priority, sortBy, sortDirection, cursor, count, userId
+        ));
     }
 
     @Operation(
@@ -333,12 +406,19 @@ public class TaskController {
             @RequestParam(value = "sortBy", defaultValue = "id") String sortBy,
 
             @Parameter(description = "Sort direction: 'asc' for ascending, 'desc' for descending", example = "asc")
-            @RequestParam(value = "sortDirection", defaultValue = "asc") String sortDirection
+            @RequestParam(value = "sortDirection", defaultValue = "asc") String sortDirection,
+
+            @Parameter(description = "Switches to cursor pagination, which ignores 'page': pass an empty value" +
+                    " for the first page, then 'nextCursor' of the previous response", example = "")
+            @RequestParam(value = "cursor", required = false) String cursor,
+
+            @Parameter(description = "How totalPages is computed: 'exact' runs a count query, 'estimate' uses a" +
+                    " planner estimate or a briefly cached count, 'none' only reports hasNext", example = "exact")
+            @RequestParam(value = "count", defaultValue = "exact") CountMode count
     ) {
-        Page<Task> taskPage = taskService.getTasksForOwner(
-                page, size, title, description, status, priority, sortBy, sortDirection, userId
-        );
-        return taskListMapper.pageToTaskPagedListResponseDto(taskPage);
+        return withAllowedActions(taskService.getTasksForOwner(
+                page, size, title, description, status, priority, sortBy, sortDirection, cursor, count, userId
+        ));
     }
 
     @Operation(
@@ -426,12 +506,81 @@ public class TaskController {
             @RequestParam(value = "sortBy", defaultValue = "id") String sortBy,
 
             @Parameter(description = "Sort direction: 'asc' for ascending, 'desc' for descending", example = "asc")
-            @RequestParam(value = "sortDirection", defaultValue = "asc") String sortDirection
+            @RequestParam(value = "sortDirection", defaultValue = "asc") String sortDirection,
+
+            @Parameter(description = "Switches to cursor pagination, which ignores 'page': pass an empty value" +
+                    " for the first page, then 'nextCursor' of the previous response", example = "")
+            @RequestParam(value = "cursor", required = false) String cursor,
+
+            @Parameter(description = "How totalPages is computed: 'exact' runs a count query, 'estimate' uses a" +
+                    " planner estimate or a briefly cached count, 'none' only reports hasNext", example = "exact")
+            @RequestParam(value = "count", defaultValue = "exact") CountMode count
     ) {
-        Page<Task> taskPage = taskService.getTasksForAssignee(
-                page, size, title, description, status, priority, sortBy, sortDirection, userId
-        );
-        return taskListMapper.pageToTaskPagedListResponseDto(taskPage);
+        return withAllowedActions(taskService.getTasksForAssignee(
+                page, size, title, description, status, priority, sortBy, sortDirection, cursor, count, userId
+        ));
+    }
+
+    @Operation(
+            summary = "Search tasks",
+            description = "Full-text search over task titles, descriptions and comment texts, best match first." +
+                    " The query accepts web search syntax: quoted phrases, 'or' and '-' for exclusion." +
+                    " Users find the tasks they own or are assigned to; admins find all tasks.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successfully retrieved search results",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskSearchPageResponseDto.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Blank query or unsupported language",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = AppErrorResponse.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                                "status": 400,
+                                                "message": "Search error: 'Query must not be blank'",
+                                                "timestamp": "2024-06-04T22:40:46.7924577"
+                                            }""")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Internal server error",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = AppErrorResponse.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                                "status": 500,
+                                                "message": "Server Error",
+                                                "timestamp": "2024-06-04T22:40:46.7924577"
+                                            }""")
+                            )
+                    )
+            }
+    )
+    @GetMapping("/search")
+    @ResponseStatus(HttpStatus.OK)
+    public TaskSearchPageResponseDto searchTasks(
+            @Parameter(description = "Search query", example = "release documentation")
+            @RequestParam(value = "q") String query,
+
+            @Parameter(description = "Text search configuration, defaults to the configured one", example = "english")
+            @RequestParam(value = "language", required = false) String language,
+
+            @Parameter(description = "Page number (1-based)", example = "1")
+            @RequestParam(value = "page", defaultValue = "1") @Positive int page,
+
+            @Parameter(description = "Number of results per page", example = "10")
+            @RequestParam(value = "size", defaultValue = "10") @Positive int size
+    ) {
+        return taskSearchService.search(query, language, page, size);
     }
 
     @Operation(
@@ -496,7 +645,7 @@ public class TaskController {
             @Parameter(description = "ID of the task to be retrieved", example = "1")
             @PathVariable Long id
     ) {
-        return taskMapper.mapTaskToResponseDtoNoComments(taskService.getTaskById(id));
+        return taskService.getTaskResponseById(id);
     }
 
     @Operation(
@@ -554,14 +703,14 @@ public class TaskController {
                     )
             }
     )
-    @CheckTaskPermission(action = "delete")
+    @CheckTaskPermission(action = TaskAction.DELETE)
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteTaskById(
             @Parameter(description = "ID of the task to be deleted", example = "1")
             @PathVariable Long id
     ) {
-        taskService.deleteTaskById(id);
+        taskService.deleteTask(authorizedTaskContext.getTask(id));
     }
 
     @Operation(
@@ -622,7 +771,7 @@ public class TaskController {
                     )
             }
     )
-    @CheckTaskPermission(action = "updateAll")
+    @CheckTaskPermission(action = TaskAction.UPDATE_ALL)
     @PutMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public TaskResponseDtoNoComments updateTask(
@@ -631,12 +780,108 @@ public class TaskController {
             @Parameter(description = "ID of the task to be updated", example = "1")
             @PathVariable Long id
     ) {
-        Task foundTask = taskService.getTaskById(id);
+        Task foundTask = authorizedTaskContext.getTask(id);
         taskMapper.partialUpdateFromFull(fullUpdateDto, foundTask);
-        Task savedTask = taskService.saveTask(foundTask);
+        Task savedTask = taskService.updateTask(foundTask, authorizedTaskContext.getAccess(id));
         return taskMapper.mapTaskToResponseDtoNoComments(savedTask);
     }
 
+    @Operation(
+            summary = "Update status and priority of many tasks",
+            description = "Sets the status and/or priority of the tasks given by 'ids' or matched by 'filter' with" +
+                    " one set-based update. For ids, every task gets an outcome: UPDATED, NOT_FOUND, or" +
+                    " FORBIDDEN when the current user may not change it. A filter only matches tasks the" +
+                    " current user may change. Status may be changed by the owner or assignee, priority only" +
+                    " by the owner; admins may change any task.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Outcome for each task",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskBulkUpdateResponseDto.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Nothing to set, both or neither of ids and filter, or too many tasks",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = AppBatchErrorResponse.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                                "status": 400,
+                                                "message": "Batch error: 'Exactly one of ids and filter must be set'",
+                                                "errors": [],
+                                                "timestamp": "2024-06-04T22:40:46.7924577"
+                                            }""")
+                            )
+                    )
+            }
+    )
+    @PatchMapping("/bulk")
+    @ResponseStatus(HttpStatus.OK)
+    public TaskBulkUpdateResponseDto updateTasks(
+            @Parameter(description = "Tasks to update and their new status and/or priority", required = true)
+            @RequestBody TaskBulkUpdateDto taskBulkUpdateDto
+    ) {
+        return taskBatchService.updateTasks(taskBulkUpdateDto);
+    }
+
+    @Operation(
+            summary = "Reassign tasks in bulk",
+            description = "Admin only. Moves every task matching the current assignee and/or owner, and optionally" +
+                    " the status, to a new assignee. Tasks are reassigned in chunks, each committed on its own," +
+                    " so the number of reassigned tasks is returned once all chunks are done.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Number of reassigned tasks and chunks",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskReassignResponseDto.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "No new assignee, no filter, or new assignee not found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = AppBatchErrorResponse.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                                "status": 400,
+                                                "message": "Batch error: 'User with id '3' not found'",
+                                                "errors": [],
+                                                "timestamp": "2024-06-04T22:40:46.7924577"
+                                            }""")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Current user is not an admin",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = AppErrorResponse.class),
+                                    examples = @ExampleObject(value = """
+                                            {
+                                                "status": 403,
+                                                "message": "You do not have permission to reassign tasks in bulk.",
+                                                "timestamp": "2024-06-04T22:40:46.7924577"
+                                            }""")
+                            )
+                    )
+            }
+    )
+    @PatchMapping("/reassign")
+    @ResponseStatus(HttpStatus.OK)
+    public TaskReassignResponseDto reassignTasks(
+            @Parameter(description = "Tasks to reassign and their new assignee", required = true)
+            @RequestBody TaskReassignDto taskReassignDto
+    ) {
+        return taskBatchService.reassignTasks(taskReassignDto);
+    }
+
     @Operation(
             summary = "Update task status by ID",
             description = "Updates the status of a specific task identified by its ID. The new status is provided" +
@@ -695,7 +940,7 @@ public class TaskController {
                     )
             }
     )
-    @CheckTaskPermission(action = "updateStatus")
+    @CheckTaskPermission(action = TaskAction.UPDATE_STATUS)
     @PatchMapping("/{id}/status")
     @ResponseStatus(HttpStatus.OK)
     public TaskResponseDtoNoComments updateTaskStatus(
@@ -704,9 +949,9 @@ public class TaskController {
             @Parameter(description = "ID of the task whose status is to be updated", example = "1")
             @PathVariable Long id
     ) {
-        Task foundTask = taskService.getTaskById(id);
+        Task foundTask = authorizedTaskContext.getTask(id);
         taskMapper.partialUpdateFromStatus(statusUpdateDto, foundTask);
-        Task savedTask = taskService.saveTask(foundTask);
+        Task savedTask = taskService.updateTask(foundTask, authorizedTaskContext.getAccess(id));
         return taskMapper.mapTaskToResponseDtoNoComments(savedTask);
     }
 
@@ -768,7 +1013,7 @@ public class TaskController {
                     )
             }
     )
-    @CheckTaskPermission(action = "updateAssignee")
+    @CheckTaskPermission(action = TaskAction.UPDATE_ASSIGNEE)
     @PatchMapping("/{id}/assignee")
     @ResponseStatus(HttpStatus.OK)
     public TaskResponseDtoNoComments updateTaskAssignee(
@@ -777,9 +1022,9 @@ public class TaskController {
             @Parameter(description = "ID of the task whose assignee is to be updated", example = "1")
             @PathVariable Long id
     ) {
-        Task foundTask = taskService.getTaskById(id);
+        Task foundTask = authorizedTaskContext.getTask(id);
         taskMapper.partialUpdateFromAssignee(assigneeUpdateDto, foundTask);
-        Task savedTask = taskService.saveTask(foundTask);
+        Task savedTask = taskService.updateTask(foundTask, authorizedTaskContext.getAccess(id));
         return taskMapper.mapTaskToResponseDtoNoComments(savedTask);
     }
 
@@ -850,7 +1095,7 @@ public class TaskController {
             @Valid @RequestBody CommentCreateDto commentCreateDto
     ) {
         Task foundTask = taskService.getTaskById(id);
-        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        User currentUser = currentUserService.getCurrentUserReference();
         Comment comment = commentMapper.mapCreateDtoToComment(commentCreateDto);
         comment.setTask(foundTask);
         comment.setAuthor(currentUser);
@@ -945,7 +1190,15 @@ public class TaskController {
             @RequestParam(value = "page", defaultValue = "1") @Positive int page,
             @RequestParam(value = "size", defaultValue = "10") int size
     ) {
-        Page<Comment> commentPage = commentService.getCommentsByTaskId(id, page, size);
-        return commentListMapper.pageToCommentPagedListResponseDto(commentPage);
+        return commentService.getCommentsByTaskId(id, page, size);
+    }
+
+    private TaskPagedListResponseDto withAllowedActions(TaskPagedListResponseDto page) {
+        List<TaskAccessRow> tasks = page.tasks().stream()
+                .map(task -> new TaskAccessRow(task.id(), task.owner().id(), task.assignee().id()))
+                .toList();
+        return TaskPagedListResponseDto.withAllowedActions(
+                page, taskPermissionEngine.allowedActions(currentUserService.getCurrentUser(), tasks)
+        );
     }
 }
@@ -0,0 +1,23 @@
+package com.chaplygin.task_manager.task.dto;
+
+import com.chaplygin.task_manager.task.model.Priority;
+import com.chaplygin.task_manager.task.model.Status;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+
+@Schema(description = "Filter selecting the tasks of a bulk update, with the semantics of the task list filters.")
+public record TaskBulkFilterDto(
+        @Schema(description = "Case-insensitive substring of the title.", example = "sprint 12")
+        String title,
+
+        @Schema(description = "Case-insensitive substring of the description.", example = "release")
+        String description,
+
+        @Schema(description = "Current status of the task.", example = "IN_PROGRESS")
+        Status status,
+
+        @Schema(description = "Current priority of the task.", example = "LOW")
+        Priority priority
+) implements Serializable {
+}
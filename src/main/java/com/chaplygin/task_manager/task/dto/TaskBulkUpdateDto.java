@@ -0,0 +1,26 @@
+package com.chaplygin.task_manager.task.dto;
+
+import com.chaplygin.task_manager.task.model.Priority;
+import com.chaplygin.task_manager.task.model.Status;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Schema(description = "Data Transfer Object for updating the status and/or priority of many tasks." +
+        " Exactly one of 'ids' and 'filter' selects the tasks.")
+public record TaskBulkUpdateDto(
+        @Schema(description = "IDs of the tasks to update.", example = "[1, 2, 3]")
+        List<Long> ids,
+
+        @Schema(description = "Filter selecting the tasks to update. Only tasks the current user may update" +
+                " are selected.")
+        TaskBulkFilterDto filter,
+
+        @Schema(description = "New status of the tasks, unchanged if absent.", example = "COMPLETED")
+        Status status,
+
+        @Schema(description = "New priority of the tasks, unchanged if absent.", example = "LOW")
+        Priority priority
+) implements Serializable {
+}
@@ -0,0 +1,7 @@
+package com.chaplygin.task_manager.task.dto;
+
+public enum TaskBulkUpdateOutcome {
+    UPDATED,
+    NOT_FOUND,
+    FORBIDDEN
+}
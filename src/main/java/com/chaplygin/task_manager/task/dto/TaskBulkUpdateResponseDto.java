@@ -0,0 +1,16 @@
+package com.chaplygin.task_manager.task.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Schema(description = "Result of a bulk update.")
+public record TaskBulkUpdateResponseDto(
+        @Schema(description = "Outcome for each requested task in request order, or for each matched task by ID.")
+        List<TaskBulkUpdateResultDto> results,
+
+        @Schema(description = "Number of updated tasks.", example = "3")
+        int updated
+) implements Serializable {
+}
@@ -0,0 +1,16 @@
+package com.chaplygin.task_manager.task.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+
+@Schema(description = "Outcome of a bulk update for one task.")
+public record TaskBulkUpdateResultDto(
+        @Schema(description = "Task ID.", example = "1")
+        Long id,
+
+        @Schema(description = "Whether the task was updated, does not exist or may not be updated by the" +
+                " current user.", example = "UPDATED")
+        TaskBulkUpdateOutcome outcome
+) implements Serializable {
+}
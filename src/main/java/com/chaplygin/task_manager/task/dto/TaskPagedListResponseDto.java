@@ -1,8 +1,13 @@
 package com.chaplygin.task_manager.task.dto;
 
+import com.chaplygin.task_manager.permission.model.TaskAction;
+import com.chaplygin.task_manager.task.pagination.CountMode;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Schema(description = "Data Transfer Object representing a paginated list of tasks without comments.")
 public record TaskPagedListResponseDto(
@@ -10,7 +15,7 @@ public record TaskPagedListResponseDto(
                 implementation = TaskResponseDtoNoComments.class)
         List<TaskResponseDtoNoComments> tasks,
 
-        @Schema(description = "Current page number in the paginated list. Starts from 1.",
+        @Schema(description = "Current page number in the paginated list. Starts from 1. Always 0 in cursor mode.",
                 example = "1")
         int page,
 
@@ -18,8 +23,51 @@ public record TaskPagedListResponseDto(
                 example = "10")
         int size,
 
-        @Schema(description = "Total number of pages available based on the current page size.",
+        @Schema(description = "Total number of pages available based on the current page size. Approximate when" +
+                " countMode is 'estimate', always 0 when it is 'none'.",
                 example = "5")
-        int totalPages
-) {
+        int totalPages,
+
+        @Schema(description = "Opaque token for the next page in cursor mode. Null on the last page and in offset mode.",
+                example = "eyJzb3J0QnkiOiJpZCIsImRpcmVjdGlvbiI6IkFTQyIsImtleXMiOlsxMF19")
+        String nextCursor,
+
+        @Schema(description = "Whether a next page exists. Exact in every count mode.",
+                example = "true")
+        boolean hasNext,
+
+        @Schema(description = "How totalPages was computed: 'exact', 'estimate' or 'none'.",
+                example = "exact")
+        CountMode countMode,
+
+        @Schema(description = "Actions the current user may perform on each task on the page, by task ID.",
+                example = "{\"1\": [\"UPDATE_ALL\", \"UPDATE_STATUS\", \"UPDATE_ASSIGNEE\", \"DELETE\"]," +
+                        " \"2\": [\"UPDATE_STATUS\"]}")
+        Map<Long, Set<TaskAction>> allowedActions
+) implements Serializable {
+
+    public TaskPagedListResponseDto(List<TaskResponseDtoNoComments> tasks, int page, int size, int totalPages) {
+        this(tasks, page, size, totalPages, null, page + 1 < totalPages, CountMode.EXACT);
+    }
+
+    /*
+     * Pages are cached for every caller alike, so they are cached without allowedActions, which are
+     * added per request.
+     */
+    public TaskPagedListResponseDto(
+            List<TaskResponseDtoNoComments> tasks, int page, int size, int totalPages,
+            String nextCursor, boolean hasNext, CountMode countMode
+    ) {
+        this(tasks, page, size, totalPages, nextCursor, hasNext, countMode, null);
+    }
+
+    public static TaskPagedListResponseDto withAllowedActions(
+            TaskPagedListResponseDto page,
+            Map<Long, Set<TaskAction>> allowedActions
+    ) {
+        return new TaskPagedListResponseDto(
+                page.tasks, page.page, page.size, page.totalPages, page.nextCursor, page.hasNext, page.countMode,
+                allowedActions
+        );
+    }
 }
@@ -0,0 +1,23 @@
+package com.chaplygin.task_manager.task.dto;
+
+import com.chaplygin.task_manager.task.model.Status;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+
+@Schema(description = "Data Transfer Object for moving all matching tasks to a new assignee." +
+        " At least one of 'fromAssigneeId' and 'ownerId' must be set.")
+public record TaskReassignDto(
+        @Schema(description = "Current assignee of the tasks to move.", example = "2")
+        Long fromAssigneeId,
+
+        @Schema(description = "Owner of the tasks to move.", example = "1")
+        Long ownerId,
+
+        @Schema(description = "Status of the tasks to move, any status if absent.", example = "IN_PROGRESS")
+        Status status,
+
+        @Schema(description = "ID of the new assignee.", example = "3")
+        Long assigneeId
+) implements Serializable {
+}
@@ -0,0 +1,16 @@
+package com.chaplygin.task_manager.task.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+
+@Schema(description = "Result of a bulk reassignment.")
+public record TaskReassignResponseDto(
+        @Schema(description = "Number of reassigned tasks.", example = "1200")
+        int reassigned,
+
+        @Schema(description = "Number of chunks the tasks were reassigned in, each in its own transaction.",
+                example = "3")
+        int chunks
+) implements Serializable {
+}
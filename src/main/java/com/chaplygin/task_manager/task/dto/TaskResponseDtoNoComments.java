@@ -6,6 +6,8 @@ import com.chaplygin.task_manager.task.model.Status;
 import com.chaplygin.task_manager.user.dto.UserResponseDtoFull;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.io.Serializable;
+
 @Schema(description = "Data Transfer Object representing task details without comments.")
 public record TaskResponseDtoNoComments(
         @Schema(description = "Unique identifier of the task.",
@@ -35,5 +37,5 @@ public record TaskResponseDtoNoComments(
         @Schema(description = "Priority level of the task.",
                 example = "HIGH")
         Priority priority
-) {
+) implements Serializable {
 }
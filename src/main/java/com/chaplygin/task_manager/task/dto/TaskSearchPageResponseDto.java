@@ -0,0 +1,30 @@
+package com.chaplygin.task_manager.task.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Schema(description = "Data Transfer Object representing a page of full-text search results, best match first.")
+public record TaskSearchPageResponseDto(
+        @Schema(description = "Search results on the current page.",
+                implementation = TaskSearchResultDto.class)
+        List<TaskSearchResultDto> results,
+
+        @Schema(description = "Current page number. Starts from 1.",
+                example = "1")
+        int page,
+
+        @Schema(description = "Number of results per page.",
+                example = "10")
+        int size,
+
+        @Schema(description = "Whether a next page exists.",
+                example = "true")
+        boolean hasNext,
+
+        @Schema(description = "Text search configuration used to parse the query and the task text.",
+                example = "english")
+        String language
+) implements Serializable {
+}
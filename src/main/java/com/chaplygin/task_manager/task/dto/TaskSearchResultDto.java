@@ -0,0 +1,27 @@
+package com.chaplygin.task_manager.task.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+
+@Schema(description = "Data Transfer Object representing a task matched by full-text search.")
+public record TaskSearchResultDto(
+        @Schema(description = "Matched task without comments.",
+                implementation = TaskResponseDtoNoComments.class)
+        TaskResponseDtoNoComments task,
+
+        @Schema(description = "Relevance of the task to the query; higher is better. Title matches weigh more" +
+                " than description matches, which weigh more than comment matches.",
+                example = "0.6")
+        float rank,
+
+        @Schema(description = "Task title with matched words wrapped in <mark></mark>. The text is not HTML-escaped.",
+                example = "Complete project <mark>documentation</mark>")
+        String titleHighlight,
+
+        @Schema(description = "Fragments of the description with matched words wrapped in <mark></mark>." +
+                " The text is not HTML-escaped.",
+                example = "Prepare and finalize the project <mark>documentation</mark> for the upcoming release")
+        String snippet
+) implements Serializable {
+}
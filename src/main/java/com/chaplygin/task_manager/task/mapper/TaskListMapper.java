@@ -1,17 +1,45 @@
 package com.chaplygin.task_manager.task.mapper;
 
 import com.chaplygin.task_manager.task.dto.TaskPagedListResponseDto;
-import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.task.dto.TaskResponseDtoNoComments;
+import com.chaplygin.task_manager.task.pagination.CountMode;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
-@Mapper(componentModel = "spring", uses = TaskMapper.class)
+import java.util.List;
+
+@Mapper(componentModel = "spring")
 public interface TaskListMapper {
 
     @Mapping(source = "content", target = "tasks")
     @Mapping(source = "number", target = "page")
     @Mapping(source = "size", target = "size")
     @Mapping(source = "totalPages", target = "totalPages")
-    TaskPagedListResponseDto pageToTaskPagedListResponseDto(Page<Task> page);
+    @Mapping(target = "nextCursor", ignore = true)
+    @Mapping(target = "hasNext", expression = "java(page.hasNext())")
+    @Mapping(target = "countMode", constant = "EXACT")
+    @Mapping(target = "allowedActions", ignore = true)
+    TaskPagedListResponseDto pageToTaskPagedListResponseDto(Page<TaskResponseDtoNoComments> page);
+
+    @Mapping(source = "slice.content", target = "tasks")
+    @Mapping(source = "slice.number", target = "page")
+    @Mapping(source = "slice.size", target = "size")
+    @Mapping(source = "totalPages", target = "totalPages")
+    @Mapping(target = "nextCursor", ignore = true)
+    @Mapping(target = "hasNext", expression = "java(slice.hasNext())")
+    @Mapping(source = "countMode", target = "countMode")
+    @Mapping(target = "allowedActions", ignore = true)
+    TaskPagedListResponseDto sliceToTaskPagedListResponseDto(Slice<TaskResponseDtoNoComments> slice, int totalPages, CountMode countMode);
+
+    @Mapping(source = "tasks", target = "tasks")
+    @Mapping(target = "page", ignore = true)
+    @Mapping(source = "size", target = "size")
+    @Mapping(target = "totalPages", ignore = true)
+    @Mapping(source = "nextCursor", target = "nextCursor")
+    @Mapping(target = "hasNext", expression = "java(nextCursor != null)")
+    @Mapping(target = "countMode", constant = "NONE")
+    @Mapping(target = "allowedActions", ignore = true)
+    TaskPagedListResponseDto tasksToTaskCursorPageResponseDto(List<TaskResponseDtoNoComments> tasks, int size, String nextCursor);
 }
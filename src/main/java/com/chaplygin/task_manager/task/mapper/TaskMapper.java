@@ -2,6 +2,7 @@ package com.chaplygin.task_manager.task.mapper;
 
 import com.chaplygin.task_manager.task.dto.*;
 import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.user.model.User;
 import com.chaplygin.task_manager.user.service.UserService;
 import org.mapstruct.*;
 
@@ -9,10 +10,10 @@ import org.mapstruct.*;
 public interface TaskMapper {
 
     @Mapping(target = "id", ignore = true)
-    @Mapping(target = "owner", ignore = true)
-    @Mapping(source = "assigneeId", target = "assignee")
-    @Mapping(target = "status", ignore = true)
-    Task mapCreateDtoToTask(TaskCreateDto taskCreateDto);
+    @Mapping(target = "owner", expression = "java(owner)")
+    @Mapping(target = "assignee", expression = "java(assignee)")
+    @Mapping(target = "status", constant = "NEW")
+    Task mapCreateDtoToTask(TaskCreateDto taskCreateDto, User owner, User assignee);
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void partialUpdateFromFull(TaskFullUpdateDto taskCreateDto, @MappingTarget Task task);
@@ -22,8 +22,14 @@ import java.util.Objects;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Task {
 
+    /*
+     * IDENTITY would make Hibernate insert every task on persist, one statement each. The pooled
+     * sequence hands out ids in blocks of 50, so inserts are deferred to flush and batched. The
+     * allocation size must match the increment of tasks_id_seq (migration V5).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_seq")
+    @SequenceGenerator(name = "tasks_id_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     Long id;
 
     @Size(max = 255)
@@ -0,0 +1,25 @@
+package com.chaplygin.task_manager.task.pagination;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+
+public enum CountMode {
+    EXACT,
+    ESTIMATE,
+    NONE;
+
+    @JsonValue
+    public String value() {
+        return name().toLowerCase();
+    }
+
+    @JsonCreator
+    public static CountMode fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(mode -> mode.value().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown count mode: " + value));
+    }
+}
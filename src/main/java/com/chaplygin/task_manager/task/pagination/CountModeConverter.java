@@ -0,0 +1,14 @@
+package com.chaplygin.task_manager.task.pagination;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CountModeConverter implements Converter<String, CountMode> {
+
+    @Override
+    public CountMode convert(@NonNull String source) {
+        return CountMode.fromValue(source);
+    }
+}
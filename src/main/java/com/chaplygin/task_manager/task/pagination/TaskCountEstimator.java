@@ -0,0 +1,55 @@
+package com.chaplygin.task_manager.task.pagination;
+
+import com.chaplygin.task_manager.cache.support.CacheKeys;
+import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.task.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/*
+ * Totals for count=estimate. The unfiltered list uses the planner's row estimate of the tasks
+ * table, which costs nothing but lags behind until the next (auto)analyze. Filtered lists run the
+ * exact count once per key and reuse it until the taskCounts entry expires; writes do not evict it.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskCountEstimator {
+    public static final String COUNTS_CACHE = "taskCounts";
+
+    private static final String UNFILTERED_SCOPE = "all";
+
+    private final TaskRepository taskRepository;
+    private final CacheManager cacheManager;
+
+    public static Key key(String scope, Object... filters) {
+        return new Key(scope, Arrays.asList(filters));
+    }
+
+    public long estimate(Specification<Task> spec, Key key) {
+        if (key.isUnfiltered()) {
+            long plannerEstimate = taskRepository.estimateCount();
+            if (plannerEstimate >= 0) {
+                return plannerEstimate;
+            }
+        }
+        Long count = cacheManager.getCache(COUNTS_CACHE).get(key.encoded(), () -> taskRepository.count(spec));
+        return count == null ? 0 : count;
+    }
+
+    public record Key(String scope, List<Object> filters) {
+
+        boolean isUnfiltered() {
+            return UNFILTERED_SCOPE.equals(scope) && filters.stream().allMatch(Objects::isNull);
+        }
+
+        String encoded() {
+            return scope + ":" + CacheKeys.encode(filters.toArray());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.chaplygin.task_manager.task.pagination;
+
+import com.chaplygin.task_manager.exception.model.InvalidCursorException;
+import com.chaplygin.task_manager.task.model.Priority;
+import com.chaplygin.task_manager.task.model.Status;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+ * A cursor is the Base64url JSON of the sort it was issued for and the key values of the last task
+ * on the page, ordered as in the sort: the sort field first, then the id tie-breaker. Only non-null
+ * columns are sortable in cursor mode, because a seek predicate never matches a NULL key, and only
+ * those with a (column, id) index, so that every page is an index range scan rather than a sort.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskCursorCodec {
+    private static final String ID = "id";
+    private static final int MAX_CURSOR_LENGTH = 2048;
+    private static final Map<String, Function<Object, Object>> SORT_KEYS = Map.of(
+            ID, value -> ((Number) value).longValue(),
+            "title", value -> (String) value,
+            "status", value -> Status.valueOf((String) value),
+            "priority", value -> Priority.valueOf((String) value)
+    );
+
+    private final ObjectMapper objectMapper;
+
+    public Sort sortFor(String sortBy, Sort.Direction direction) {
+        if (!SORT_KEYS.containsKey(sortBy)) {
+            throw new InvalidCursorException("sortBy=%s is not supported in cursor mode".formatted(sortBy));
+        }
+        Sort sort = Sort.by(direction, sortBy);
+        return ID.equals(sortBy) ? sort : sort.and(Sort.by(direction, ID));
+    }
+
+    public KeysetScrollPosition decode(String cursor, String sortBy, Sort.Direction direction) {
+        sortFor(sortBy, direction);
+        if (cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        if (cursor.length() > MAX_CURSOR_LENGTH) {
+            throw new InvalidCursorException("Cursor is too long");
+        }
+
+        CursorToken token;
+        try {
+            token = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), CursorToken.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new InvalidCursorException("Cursor is malformed");
+        }
+        if (!sortBy.equals(token.sortBy()) || direction != token.direction()) {
+            throw new InvalidCursorException("Cursor was issued for sortBy=%s, sortDirection=%s"
+                    .formatted(token.sortBy(), token.direction()));
+        }
+
+        List<String> properties = keyProperties(sortBy);
+        if (token.keys() == null || token.keys().size() != properties.size()) {
+            throw new InvalidCursorException("Cursor is malformed");
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < properties.size(); i++) {
+                String property = properties.get(i);
+                keys.put(property, SORT_KEYS.get(property).apply(token.keys().get(i)));
+            }
+        } catch (ClassCastException | IllegalArgumentException | NullPointerException e) {
+            throw new InvalidCursorException("Cursor is malformed");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    public String encode(KeysetScrollPosition position, String sortBy, Sort.Direction direction) {
+        List<Object> keys = new ArrayList<>();
+        for (String property : keyProperties(sortBy)) {
+            keys.add(position.getKeys().get(property));
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new CursorToken(sortBy, direction, keys));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode cursor", e);
+        }
+    }
+
+    private List<String> keyProperties(String sortBy) {
+        return ID.equals(sortBy) ? List.of(ID) : List.of(sortBy, ID);
+    }
+
+    private record CursorToken(String sortBy, Sort.Direction direction, List<Object> keys) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.chaplygin.task_manager.task.repository;
+
+public record TaskAccessRow(
+        Long id,
+        Long ownerId,
+        Long assigneeId
+) {
+}
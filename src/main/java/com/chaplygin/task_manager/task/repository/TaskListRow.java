@@ -0,0 +1,41 @@
+package com.chaplygin.task_manager.task.repository;
+
+import com.chaplygin.task_manager.task.dto.TaskResponseDtoNoComments;
+import com.chaplygin.task_manager.task.model.Priority;
+import com.chaplygin.task_manager.task.model.Status;
+import com.chaplygin.task_manager.user.dto.UserResponseDtoFull;
+
+public record TaskListRow(
+        Long id,
+        String title,
+        String description,
+        Long ownerId,
+        String ownerEmail,
+        String ownerUsername,
+        Long assigneeId,
+        String assigneeEmail,
+        String assigneeUsername,
+        Status status,
+        Priority priority
+) {
+
+    public TaskResponseDtoNoComments toResponseDto() {
+        return new TaskResponseDtoNoComments(
+                id, title, description,
+                new UserResponseDtoFull(ownerId, ownerEmail, ownerUsername),
+                new UserResponseDtoFull(assigneeId, assigneeEmail, assigneeUsername),
+                status, priority
+        );
+    }
+
+    public Object key(String property) {
+        return switch (property) {
+            case "id" -> id;
+            case "title" -> title;
+            case "description" -> description;
+            case "status" -> status;
+            case "priority" -> priority;
+            default -> throw new IllegalArgumentException("No key property " + property);
+        };
+    }
+}
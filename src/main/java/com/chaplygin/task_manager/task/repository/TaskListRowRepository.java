@@ -0,0 +1,14 @@
+package com.chaplygin.task_manager.task.repository;
+
+import com.chaplygin.task_manager.task.model.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskListRowRepository {
+
+    List<TaskListRow> findListRows(Specification<Task> spec, Sort sort, long offset, int limit);
+
+    List<TaskAccessRow> findAccessRows(Specification<Task> spec, int limit);
+}
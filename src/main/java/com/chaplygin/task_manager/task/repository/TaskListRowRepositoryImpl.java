@@ -0,0 +1,79 @@
+package com.chaplygin.task_manager.task.repository;
+
+import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.user.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+/*
+ * Task lists only ever become TaskResponseDtoNoComments, so they select the columns of that record
+ * instead of Task entities: no managed instances, no dirty-checking snapshots, no user proxies.
+ * The rows are built with a constructor expression over the same Root the TaskSpecifications
+ * filters are applied to, so every filter composes here as it does with findAll.
+ */
+@RequiredArgsConstructor
+public class TaskListRowRepositoryImpl implements TaskListRowRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TaskListRow> findListRows(Specification<Task> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskListRow> query = criteriaBuilder.createQuery(TaskListRow.class);
+        Root<Task> task = query.from(Task.class);
+        Join<Task, User> owner = task.join("owner");
+        Join<Task, User> assignee = task.join("assignee");
+
+        query.select(criteriaBuilder.construct(
+                TaskListRow.class,
+                task.get("id"), task.get("title"), task.get("description"),
+                owner.get("id"), owner.get("email"), owner.get("username"),
+                assignee.get("id"), assignee.get("email"), assignee.get("username"),
+                task.get("status"), task.get("priority")
+        ));
+        Predicate predicate = spec.toPredicate(task, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, task, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /*
+     * Ids and participants only, ordered by id, enough to check permissions and invalidate the
+     * list caches of many tasks without loading them.
+     */
+    @Override
+    public List<TaskAccessRow> findAccessRows(Specification<Task> spec, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskAccessRow> query = criteriaBuilder.createQuery(TaskAccessRow.class);
+        Root<Task> task = query.from(Task.class);
+
+        query.select(criteriaBuilder.construct(
+                TaskAccessRow.class,
+                task.get("id"), task.get("owner").get("id"), task.get("assignee").get("id")
+        ));
+        Predicate predicate = spec.toPredicate(task, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.asc(task.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,7 @@
+package com.chaplygin.task_manager.task.repository;
+
+public interface TaskParticipants {
+    Long getOwnerId();
+
+    Long getAssigneeId();
+}
@@ -1,8 +1,61 @@
 package com.chaplygin.task_manager.task.repository;
 
+import com.chaplygin.task_manager.task.model.Priority;
+import com.chaplygin.task_manager.task.model.Status;
 import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.user.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
-}
\ No newline at end of file
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskRepository
+        extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskListRowRepository {
+
+    /*
+     * Mutations and search hits map the owner and assignee of the tasks they load.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"owner", "assignee"})
+    Optional<Task> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = {"owner", "assignee"})
+    List<Task> findAllById(Iterable<Long> ids);
+
+    @Query("select t.owner.id as ownerId, t.assignee.id as assigneeId from Task t where t.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    Optional<TaskParticipants> findStoredParticipantsById(@Param("id") Long id);
+
+    /*
+     * Null leaves the column unchanged.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = coalesce(:status, t.status), t.priority = coalesce(:priority, t.priority)" +
+            " where t.id in :ids")
+    int updateStatusAndPriority(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") Status status,
+            @Param("priority") Priority priority
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.assignee = :assignee where t.id in :ids")
+    int updateAssignee(@Param("ids") Collection<Long> ids, @Param("assignee") User assignee);
+
+    /*
+     * Planner row estimate, -1 while the table has never been analyzed.
+     */
+    @Query(value = "select cast(reltuples as bigint) from pg_class where oid = cast('tasks' as regclass)",
+            nativeQuery = true)
+    long estimateCount();
+}
@@ -0,0 +1,9 @@
+package com.chaplygin.task_manager.task.search;
+
+public record TaskSearchHit(
+        Long id,
+        float rank,
+        String titleHighlight,
+        String snippet
+) {
+}
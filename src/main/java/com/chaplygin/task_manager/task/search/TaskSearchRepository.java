@@ -0,0 +1,77 @@
+package com.chaplygin.task_manager.task.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Every language reads its own stored, GIN-indexed vector; one without a column is rejected rather
+ * than computed per row. Headlines are computed in the outer query, only for the rows of the page.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskSearchRepository {
+    private static final Map<String, String> VECTOR_COLUMNS = Map.of(
+            "english", "t.search_vector_english",
+            "russian", "t.search_vector_russian",
+            "simple", "t.search_vector_simple"
+    );
+    private static final String SEARCH = """
+            SELECT hit.id, hit.rank,
+                   ts_headline(hit.language, hit.title, hit.query, :titleOptions) AS title_highlight,
+                   ts_headline(hit.language, hit.description, hit.query, :snippetOptions) AS snippet
+            FROM (
+                SELECT t.id, t.title, t.description, q.language, q.query, ts_rank_cd(%1$s, q.query) AS rank
+                FROM tasks t,
+                     (SELECT cast(:language AS regconfig) AS language,
+                             websearch_to_tsquery(cast(:language AS regconfig), :query) AS query) q
+                WHERE %1$s @@ q.query %2$s
+                ORDER BY rank DESC, t.id
+                LIMIT :limit OFFSET :offset
+            ) hit
+            ORDER BY hit.rank DESC, hit.id""";
+    private static final String VISIBLE_TO_USER = "AND (t.owner_id = :userId OR t.assignee_id = :userId)";
+    private static final String TITLE_OPTIONS = "StartSel=<mark>, StopSel=</mark>, HighlightAll=true";
+    private static final String SNIPPET_OPTIONS = "StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=20, MinWords=5";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public static Set<String> indexedLanguages() {
+        return VECTOR_COLUMNS.keySet();
+    }
+
+    public List<TaskSearchHit> search(
+            String query, String language,
+            Long visibleToUserId,
+            long offset, int limit
+    ) {
+        String vectorColumn = VECTOR_COLUMNS.get(language);
+        if (vectorColumn == null) {
+            throw new IllegalArgumentException("No search vector for language '%s'".formatted(language));
+        }
+        String sql = SEARCH.formatted(
+                vectorColumn,
+                visibleToUserId == null ? "" : VISIBLE_TO_USER
+        );
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("language", language)
+                .addValue("userId", visibleToUserId)
+                .addValue("titleOptions", TITLE_OPTIONS)
+                .addValue("snippetOptions", SNIPPET_OPTIONS)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+
+        return jdbcTemplate.query(sql, params, (resultSet, rowNum) -> new TaskSearchHit(
+                resultSet.getLong("id"),
+                resultSet.getFloat("rank"),
+                resultSet.getString("title_highlight"),
+                resultSet.getString("snippet")
+        ));
+    }
+}
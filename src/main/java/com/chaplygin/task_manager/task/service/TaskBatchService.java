@@ -0,0 +1,234 @@
+package com.chaplygin.task_manager.task.service;
+
+import com.chaplygin.task_manager.exception.model.AccessDeniedException;
+import com.chaplygin.task_manager.exception.model.InvalidTaskBatchException;
+import com.chaplygin.task_manager.exception.model.TaskBatchItemError;
+import com.chaplygin.task_manager.permission.engine.TaskPermissionEngine;
+import com.chaplygin.task_manager.permission.model.TaskAction;
+import com.chaplygin.task_manager.task.dto.TaskBulkFilterDto;
+import com.chaplygin.task_manager.task.dto.TaskBulkUpdateDto;
+import com.chaplygin.task_manager.task.dto.TaskBulkUpdateOutcome;
+import com.chaplygin.task_manager.task.dto.TaskBulkUpdateResponseDto;
+import com.chaplygin.task_manager.task.dto.TaskBulkUpdateResultDto;
+import com.chaplygin.task_manager.task.dto.TaskCreateDto;
+import com.chaplygin.task_manager.task.dto.TaskReassignDto;
+import com.chaplygin.task_manager.task.dto.TaskReassignResponseDto;
+import com.chaplygin.task_manager.task.mapper.TaskMapper;
+import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.task.repository.TaskAccessRow;
+import com.chaplygin.task_manager.task.repository.TaskRepository;
+import com.chaplygin.task_manager.task.specification.TaskSpecifications;
+import com.chaplygin.task_manager.user.model.AuthenticatedUser;
+import com.chaplygin.task_manager.user.model.Role;
+import com.chaplygin.task_manager.user.model.User;
+import com.chaplygin.task_manager.user.service.CurrentUserService;
+import com.chaplygin.task_manager.user.service.UserService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * Batch creation is all or nothing: every item is validated and every assignee resolved, in one
+ * query, before the first insert, and a batch with any invalid item is rejected with the errors of
+ * all of them. Bulk updates instead report an outcome per task and update the permitted ones, and
+ * bulk reassignment moves matching tasks chunk by chunk.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskBatchService {
+    private final TaskService taskService;
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final UserService userService;
+    private final CurrentUserService currentUserService;
+    private final Validator validator;
+    private final TaskPermissionEngine taskPermissionEngine;
+
+    @Value("${taskManager.task.batch.maxSize}")
+    private int maxSize;
+    @Value("${taskManager.task.reassign.chunkSize}")
+    private int chunkSize;
+
+    @Transactional
+    public List<Task> createTasks(List<TaskCreateDto> taskCreateDtos, User owner) {
+        checkSize(taskCreateDtos == null ? 0 : taskCreateDtos.size());
+
+        List<TaskBatchItemError> errors = new ArrayList<>();
+        for (int i = 0; i < taskCreateDtos.size(); i++) {
+            TaskCreateDto taskCreateDto = taskCreateDtos.get(i);
+            if (taskCreateDto == null) {
+                errors.add(new TaskBatchItemError(i, null, "must not be null"));
+                continue;
+            }
+            for (ConstraintViolation<TaskCreateDto> violation : sorted(validator.validate(taskCreateDto))) {
+                errors.add(new TaskBatchItemError(i, violation.getPropertyPath().toString(), violation.getMessage()));
+            }
+        }
+
+        Map<Long, User> assignees = userService.findAllById(taskCreateDtos.stream()
+                .filter(Objects::nonNull)
+                .map(TaskCreateDto::assigneeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        for (int i = 0; i < taskCreateDtos.size(); i++) {
+            TaskCreateDto taskCreateDto = taskCreateDtos.get(i);
+            if (taskCreateDto != null && taskCreateDto.assigneeId() != null
+                    && !assignees.containsKey(taskCreateDto.assigneeId())) {
+                errors.add(new TaskBatchItemError(
+                        i, "assigneeId", "User with id '%s' not found".formatted(taskCreateDto.assigneeId())
+                ));
+            }
+        }
+        if (!errors.isEmpty()) {
+            errors.sort(Comparator.comparingInt(TaskBatchItemError::index));
+            long invalidItems = errors.stream().map(TaskBatchItemError::index).distinct().count();
+            throw new InvalidTaskBatchException(
+                    "%d of %d tasks are invalid".formatted(invalidItems, taskCreateDtos.size()), errors
+            );
+        }
+
+        List<Task> tasks = taskCreateDtos.stream()
+                .map(taskCreateDto -> taskMapper.mapCreateDtoToTask(taskCreateDto, owner, assignees.get(taskCreateDto.assigneeId())))
+                .toList();
+        return taskService.createTasks(tasks);
+    }
+
+    /*
+     * Permissions follow the single-task endpoints: changing the priority needs UPDATE_ALL, changing
+     * only the status UPDATE_STATUS. They are checked on the ids and participants of all selected
+     * tasks, read in one query; a filter selects only permitted tasks to begin with.
+     */
+    @Transactional
+    public TaskBulkUpdateResponseDto updateTasks(TaskBulkUpdateDto taskBulkUpdateDto) {
+        if (taskBulkUpdateDto.status() == null && taskBulkUpdateDto.priority() == null) {
+            throw new InvalidTaskBatchException("Either status or priority must be set", List.of());
+        }
+        if ((taskBulkUpdateDto.ids() == null) == (taskBulkUpdateDto.filter() == null)) {
+            throw new InvalidTaskBatchException("Exactly one of ids and filter must be set", List.of());
+        }
+        AuthenticatedUser currentUser = currentUserService.getCurrentUser();
+        TaskAction action = taskBulkUpdateDto.priority() != null ? TaskAction.UPDATE_ALL : TaskAction.UPDATE_STATUS;
+
+        List<TaskBulkUpdateResultDto> results = new ArrayList<>();
+        List<TaskAccessRow> permittedTasks = new ArrayList<>();
+        if (taskBulkUpdateDto.ids() != null) {
+            List<Long> ids = taskBulkUpdateDto.ids().stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+            checkSize(ids.size());
+            Map<Long, TaskAccessRow> tasks = taskRepository.findAccessRows(TaskSpecifications.hasIdIn(ids), ids.size())
+                    .stream()
+                    .collect(Collectors.toMap(TaskAccessRow::id, Function.identity()));
+            for (Long id : ids) {
+                TaskAccessRow task = tasks.get(id);
+                if (task == null) {
+                    results.add(new TaskBulkUpdateResultDto(id, TaskBulkUpdateOutcome.NOT_FOUND));
+                } else if (taskPermissionEngine.isAllowed(action, currentUser, task)) {
+                    results.add(new TaskBulkUpdateResultDto(id, TaskBulkUpdateOutcome.UPDATED));
+                    permittedTasks.add(task);
+                } else {
+                    results.add(new TaskBulkUpdateResultDto(id, TaskBulkUpdateOutcome.FORBIDDEN));
+                }
+            }
+        } else {
+            TaskBulkFilterDto filter = taskBulkUpdateDto.filter();
+            Specification<Task> spec = Specification.where(TaskSpecifications.hasTitle(filter.title()))
+                    .and(TaskSpecifications.hasDescription(filter.description()))
+                    .and(TaskSpecifications.hasStatus(filter.status()))
+                    .and(TaskSpecifications.hasPriority(filter.priority()));
+            if (currentUser.getRole() != Role.ROLE_ADMIN) {
+                spec = spec.and(!action.isAllowedToAssignee()
+                        ? TaskSpecifications.hasOwner(currentUser.getId())
+                        : TaskSpecifications.hasOwnerOrAssignee(currentUser.getId()));
+            }
+            List<TaskAccessRow> tasks = taskRepository.findAccessRows(spec, maxSize + 1);
+            if (tasks.size() > maxSize) {
+                throw new InvalidTaskBatchException(
+                        "Filter matches more than %d tasks, narrow it down".formatted(maxSize), List.of()
+                );
+            }
+            tasks.forEach(task -> results.add(new TaskBulkUpdateResultDto(task.id(), TaskBulkUpdateOutcome.UPDATED)));
+            permittedTasks.addAll(tasks);
+        }
+
+        int updated = taskService.updateStatusAndPriority(
+                permittedTasks, taskBulkUpdateDto.status(), taskBulkUpdateDto.priority()
+        );
+        return new TaskBulkUpdateResponseDto(results, updated);
+    }
+
+    /*
+     * Admin only. Not transactional on purpose: matching tasks are read and reassigned in chunks of
+     * chunkSize, seeking on id, and each chunk commits on its own, so a large reassignment neither
+     * holds row locks until the end nor starts over after a failure. Progress is logged per chunk.
+     * Tasks already assigned to the new assignee are not matched.
+     */
+    public TaskReassignResponseDto reassignTasks(TaskReassignDto taskReassignDto) {
+        if (currentUserService.getCurrentUser().getRole() != Role.ROLE_ADMIN) {
+            throw new AccessDeniedException("You do not have permission to reassign tasks in bulk.");
+        }
+        if (taskReassignDto.assigneeId() == null) {
+            throw new InvalidTaskBatchException("assigneeId must be set", List.of());
+        }
+        if (taskReassignDto.fromAssigneeId() == null && taskReassignDto.ownerId() == null) {
+            throw new InvalidTaskBatchException("At least one of fromAssigneeId and ownerId must be set", List.of());
+        }
+        User assignee = userService.findAllById(Set.of(taskReassignDto.assigneeId())).get(taskReassignDto.assigneeId());
+        if (assignee == null) {
+            throw new InvalidTaskBatchException(
+                    "User with id '%s' not found".formatted(taskReassignDto.assigneeId()), List.of()
+            );
+        }
+
+        Specification<Task> spec = Specification.where(TaskSpecifications.hasAssignee(taskReassignDto.fromAssigneeId()))
+                .and(TaskSpecifications.hasOwner(taskReassignDto.ownerId()))
+                .and(TaskSpecifications.hasStatus(taskReassignDto.status()))
+                .and(Specification.not(TaskSpecifications.hasAssignee(assignee.getId())));
+        int reassigned = 0;
+        int chunks = 0;
+        long lastId = 0;
+        List<TaskAccessRow> chunk;
+        do {
+            chunk = taskRepository.findAccessRows(spec.and(TaskSpecifications.idGreaterThan(lastId)), chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            reassigned += taskService.reassignTasks(chunk, assignee);
+            chunks++;
+            lastId = chunk.getLast().id();
+            log.info("Reassigned {} tasks to user id={} in {} chunks", reassigned, assignee.getId(), chunks);
+        } while (chunk.size() == chunkSize);
+        return new TaskReassignResponseDto(reassigned, chunks);
+    }
+
+    private void checkSize(int size) {
+        if (size == 0) {
+            throw new InvalidTaskBatchException("Batch must not be empty", List.of());
+        }
+        if (size > maxSize) {
+            throw new InvalidTaskBatchException("Batch must not contain more than %d tasks".formatted(maxSize), List.of());
+        }
+    }
+
+    private List<ConstraintViolation<TaskCreateDto>> sorted(Set<ConstraintViolation<TaskCreateDto>> violations) {
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .toList();
+    }
+}
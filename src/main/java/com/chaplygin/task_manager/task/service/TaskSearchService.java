@@ -0,0 +1,82 @@
+package com.chaplygin.task_manager.task.service;
+
+import com.chaplygin.task_manager.exception.model.InvalidSearchQueryException;
+import com.chaplygin.task_manager.task.dto.TaskSearchPageResponseDto;
+import com.chaplygin.task_manager.task.dto.TaskSearchResultDto;
+import com.chaplygin.task_manager.task.mapper.TaskMapper;
+import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.task.repository.TaskRepository;
+import com.chaplygin.task_manager.task.search.TaskSearchHit;
+import com.chaplygin.task_manager.task.search.TaskSearchRepository;
+import com.chaplygin.task_manager.user.model.AuthenticatedUser;
+import com.chaplygin.task_manager.user.model.Role;
+import com.chaplygin.task_manager.user.service.CurrentUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TaskSearchService {
+    private static final int MAX_QUERY_LENGTH = 256;
+
+    private final TaskSearchRepository taskSearchRepository;
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final CurrentUserService currentUserService;
+
+    @Value("${taskManager.search.fullText.defaultLanguage}")
+    private String defaultLanguage;
+    @Value("${taskManager.search.fullText.languages}")
+    private Set<String> languages;
+
+    /*
+     * Visibility follows getTasksForUser: a user finds the tasks they own or are assigned to. Admins,
+     * who may update and delete any task, find all of them.
+     */
+    @Transactional(readOnly = true)
+    public TaskSearchPageResponseDto search(String query, String language, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidSearchQueryException("Query must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidSearchQueryException("Query must not be longer than %d characters".formatted(MAX_QUERY_LENGTH));
+        }
+        String searchLanguage = language == null ? defaultLanguage : language;
+        if (!languages.contains(searchLanguage) || !TaskSearchRepository.indexedLanguages().contains(searchLanguage)) {
+            throw new InvalidSearchQueryException("Unsupported language '%s', expected one of %s"
+                    .formatted(searchLanguage, languages));
+        }
+
+        AuthenticatedUser currentUser = currentUserService.getCurrentUser();
+        Long visibleToUserId = currentUser.getRole() == Role.ROLE_ADMIN ? null : currentUser.getId();
+        List<TaskSearchHit> hits = taskSearchRepository.search(
+                query, searchLanguage,
+                visibleToUserId,
+                (long) (page - 1) * size, size + 1
+        );
+        boolean hasNext = hits.size() > size;
+        List<TaskSearchHit> pageHits = hasNext ? hits.subList(0, size) : hits;
+
+        Map<Long, Task> tasks = taskRepository.findAllById(pageHits.stream().map(TaskSearchHit::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<TaskSearchResultDto> results = pageHits.stream()
+                .filter(hit -> tasks.containsKey(hit.id()))
+                .map(hit -> new TaskSearchResultDto(
+                        taskMapper.mapTaskToResponseDtoNoComments(tasks.get(hit.id())),
+                        hit.rank(),
+                        hit.titleHighlight(),
+                        hit.snippet()
+                ))
+                .toList();
+        return new TaskSearchPageResponseDto(results, page, size, hasNext, searchLanguage);
+    }
+}
@@ -1,129 +1,342 @@
 package com.chaplygin.task_manager.task.service;
 
+import com.chaplygin.task_manager.cache.negative.NegativeCache;
+import com.chaplygin.task_manager.cache.service.CacheTagService;
+import com.chaplygin.task_manager.cache.support.AfterCommit;
 import com.chaplygin.task_manager.exception.model.TaskNotFoundException;
+import com.chaplygin.task_manager.task.cache.TaskListCacheKeys;
+import com.chaplygin.task_manager.task.dto.TaskPagedListResponseDto;
+import com.chaplygin.task_manager.task.dto.TaskResponseDtoNoComments;
+import com.chaplygin.task_manager.task.mapper.TaskListMapper;
+import com.chaplygin.task_manager.task.mapper.TaskMapper;
 import com.chaplygin.task_manager.task.model.Priority;
 import com.chaplygin.task_manager.task.model.Status;
 import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.task.pagination.CountMode;
+import com.chaplygin.task_manager.task.pagination.TaskCountEstimator;
+import com.chaplygin.task_manager.task.pagination.TaskCursorCodec;
+import com.chaplygin.task_manager.task.repository.TaskAccessRow;
+import com.chaplygin.task_manager.task.repository.TaskListRow;
 import com.chaplygin.task_manager.task.repository.TaskRepository;
 import com.chaplygin.task_manager.task.specification.TaskSpecifications;
+import com.chaplygin.task_manager.user.model.User;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
+    private static final String MISSING_TASK = "task";
+    private static final String TASK_CACHE = "task";
+
     private final TaskRepository taskRepository;
+    private final NegativeCache negativeCache;
+    private final CacheTagService cacheTagService;
+    private final TaskListCacheKeys taskListCacheKeys;
+    private final TaskMapper taskMapper;
+    private final TaskListMapper taskListMapper;
+    private final TaskCursorCodec taskCursorCodec;
+    private final TaskCountEstimator taskCountEstimator;
+    private final CacheManager cacheManager;
 
     @Transactional
-    @CacheEvict(value = {"tasks", "task"}, allEntries = true)
     public Task saveTask(Task task) {
-        return taskRepository.save(task);
+        Set<String> tags = new HashSet<>(taskListCacheKeys.tagsOf(task));
+        if (task.getId() != null) {
+            taskRepository.findStoredParticipantsById(task.getId()).ifPresent(participants ->
+                    tags.addAll(taskListCacheKeys.tagsOf(participants.getOwnerId(), participants.getAssigneeId()))
+            );
+        }
+
+        boolean created = task.getId() == null;
+        Task savedTask = taskRepository.save(task);
+        cacheTagService.invalidate(tags);
+        if (created) {
+            negativeCache.clearAfterCommit(MISSING_TASK, savedTask.getId());
+        } else {
+            evictTasksAfterCommit(List.of(savedTask.getId()));
+        }
+        return savedTask;
+    }
+
+    /*
+     * Previous participants are passed in so their list caches are invalidated without a query.
+     */
+    @Transactional
+    public Task updateTask(Task task, TaskAccessRow storedAccess) {
+        Set<String> tags = new HashSet<>(taskListCacheKeys.tagsOf(task));
+        tags.addAll(taskListCacheKeys.tagsOf(storedAccess.ownerId(), storedAccess.assigneeId()));
+
+        Task savedTask = taskRepository.save(task);
+        cacheTagService.invalidate(tags);
+        evictTasksAfterCommit(List.of(savedTask.getId()));
+        return savedTask;
+    }
+
+    @Transactional
+    public List<Task> createTasks(List<Task> tasks) {
+        Set<String> tags = new HashSet<>();
+        tasks.forEach(task -> tags.addAll(taskListCacheKeys.tagsOf(task)));
+
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+        cacheTagService.invalidate(tags);
+        savedTasks.forEach(task -> negativeCache.clearAfterCommit(MISSING_TASK, task.getId()));
+        return savedTasks;
+    }
+
+    /*
+     * The participants of the given tasks must not change.
+     */
+    @Transactional
+    public int updateStatusAndPriority(List<TaskAccessRow> tasks, Status status, Priority priority) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = tasks.stream()
+                .map(TaskAccessRow::id)
+                .toList();
+        int updated = taskRepository.updateStatusAndPriority(ids, status, priority);
+
+        Set<String> tags = new HashSet<>();
+        tasks.forEach(task -> tags.addAll(taskListCacheKeys.tagsOf(task.ownerId(), task.assigneeId())));
+        invalidateAfterUpdate(ids, tags);
+        return updated;
+    }
+
+    @Transactional
+    public int reassignTasks(List<TaskAccessRow> tasks, User assignee) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = tasks.stream()
+                .map(TaskAccessRow::id)
+                .toList();
+        int updated = taskRepository.updateAssignee(ids, assignee);
+
+        Set<String> tags = new HashSet<>();
+        tasks.forEach(task -> {
+            tags.addAll(taskListCacheKeys.tagsOf(task.ownerId(), task.assigneeId()));
+            tags.addAll(taskListCacheKeys.tagsOf(task.ownerId(), assignee.getId()));
+        });
+        invalidateAfterUpdate(ids, tags);
+        return updated;
+    }
+
+    private void invalidateAfterUpdate(List<Long> ids, Set<String> tags) {
+        cacheTagService.invalidate(tags);
+        evictTasksAfterCommit(ids);
+    }
+
+    private void evictTasksAfterCommit(List<Long> ids) {
+        Cache taskCache = cacheManager.getCache(TASK_CACHE);
+        if (taskCache != null) {
+            AfterCommit.forEach(ids, taskCache::evict);
+        }
     }
 
     @Transactional
-    @Cacheable(value = "tasks")
-    public Page<Task> getAllTasks(
+    @Cacheable(value = "tasks", key = "@taskListCacheKeys.forAll(#root.args)", sync = true)
+    public TaskPagedListResponseDto getAllTasks(
             int page, int size,
             String title, String description,
             Status status, Priority priority,
-            String sortBy, String sortDirection
+            String sortBy, String sortDirection,
+            String cursor, CountMode count
     ) {
-        Pageable pageable = createPageable(page, size, sortBy, sortDirection);
-
         Specification<Task> spec = Specification.where(TaskSpecifications.hasTitle(title))
                 .and(TaskSpecifications.hasDescription(description))
                 .and(TaskSpecifications.hasStatus(status))
                 .and(TaskSpecifications.hasPriority(priority));
-        return taskRepository.findAll(spec, pageable);
+        TaskCountEstimator.Key countKey = TaskCountEstimator.key("all", title, description, status, priority);
+
+        return findTasks(spec, countKey, page, size, sortBy, sortDirection, cursor, count);
     }
 
     @Transactional
-    @Cacheable(value = "tasks")
-    public Page<Task> getTasksForUser(
+    @Cacheable(value = "tasks", key = "@taskListCacheKeys.forUser(#userId, #root.args)", sync = true)
+    public TaskPagedListResponseDto getTasksForUser(
             int page, int size,
             String title, String description,
             Status status, Priority priority,
             String sortBy, String sortDirection,
+            String cursor, CountMode count,
             Long userId) {
 
-        Pageable pageable = createPageable(page, size, sortBy, sortDirection);
-
         Specification<Task> spec = Specification.where(TaskSpecifications.hasTitle(title))
                 .and(TaskSpecifications.hasDescription(description))
                 .and(TaskSpecifications.hasStatus(status))
                 .and(TaskSpecifications.hasPriority(priority))
                 .and(TaskSpecifications.hasOwnerOrAssignee(userId));
+        TaskCountEstimator.Key countKey = TaskCountEstimator.key("user", userId, title, description, status, priority);
 
-        return taskRepository.findAll(spec, pageable);
+        return findTasks(spec, countKey, page, size, sortBy, sortDirection, cursor, count);
     }
 
     @Transactional
-    @Cacheable(value = "tasks")
-    public Page<Task> getTasksForOwner(
+    @Cacheable(value = "tasks", key = "@taskListCacheKeys.forOwner(#userId, #root.args)", sync = true)
+    public TaskPagedListResponseDto getTasksForOwner(
             int page, int size,
             String title, String description,
             Status status, Priority priority,
             String sortBy, String sortDirection,
+            String cursor, CountMode count,
             Long userId) {
 
-        Pageable pageable = createPageable(page, size, sortBy, sortDirection);
-
         Specification<Task> spec = Specification.where(TaskSpecifications.hasTitle(title))
                 .and(TaskSpecifications.hasDescription(description))
                 .and(TaskSpecifications.hasStatus(status))
                 .and(TaskSpecifications.hasPriority(priority))
                 .and(TaskSpecifications.hasOwner(userId));
+        TaskCountEstimator.Key countKey = TaskCountEstimator.key("owner", userId, title, description, status, priority);
 
-        return taskRepository.findAll(spec, pageable);
-
+        return findTasks(spec, countKey, page, size, sortBy, sortDirection, cursor, count);
     }
 
     @Transactional
-    @Cacheable(value = "tasks")
-    public Page<Task> getTasksForAssignee(
+    @Cacheable(value = "tasks", key = "@taskListCacheKeys.forAssignee(#userId, #root.args)", sync = true)
+    public TaskPagedListResponseDto getTasksForAssignee(
             int page, int size,
             String title, String description,
             Status status, Priority priority,
             String sortBy, String sortDirection,
+            String cursor, CountMode count,
             Long userId) {
 
-        Pageable pageable = createPageable(page, size, sortBy, sortDirection);
-
         Specification<Task> spec = Specification.where(TaskSpecifications.hasTitle(title))
                 .and(TaskSpecifications.hasDescription(description))
                 .and(TaskSpecifications.hasStatus(status))
                 .and(TaskSpecifications.hasPriority(priority))
                 .and(TaskSpecifications.hasAssignee(userId));
+        TaskCountEstimator.Key countKey = TaskCountEstimator.key("assignee", userId, title, description, status, priority);
 
-        return taskRepository.findAll(spec, pageable);
+        return findTasks(spec, countKey, page, size, sortBy, sortDirection, cursor, count);
+    }
+
+    /*
+     * Only count=exact runs a count query; the other modes read one extra row for hasNext.
+     */
+    private TaskPagedListResponseDto findTasks(
+            Specification<Task> spec, TaskCountEstimator.Key countKey,
+            int page, int size,
+            String sortBy, String sortDirection,
+            String cursor, CountMode count
+    ) {
+        if (cursor != null) {
+            return findTasksAfterCursor(spec, size, sortBy, sortDirection, cursor);
+        }
+
+        Pageable pageable = createPageable(page, size, sortBy, sortDirection);
+        if (count == CountMode.EXACT) {
+            List<TaskResponseDtoNoComments> tasks = toResponseDtos(
+                    taskRepository.findListRows(spec, pageable.getSort(), pageable.getOffset(), size)
+            );
+            return taskListMapper.pageToTaskPagedListResponseDto(
+                    PageableExecutionUtils.getPage(tasks, pageable, () -> taskRepository.count(spec))
+            );
+        }
+
+        List<TaskListRow> rows = taskRepository.findListRows(spec, pageable.getSort(), pageable.getOffset(), size + 1);
+        boolean hasNext = rows.size() > size;
+        Slice<TaskResponseDtoNoComments> slice = new SliceImpl<>(
+                toResponseDtos(hasNext ? rows.subList(0, size) : rows), pageable, hasNext
+        );
+        if (count == CountMode.NONE) {
+            return taskListMapper.sliceToTaskPagedListResponseDto(slice, 0, CountMode.NONE);
+        }
+
+        long seen = pageable.getOffset() + slice.getNumberOfElements();
+        long total = hasNext ? Math.max(taskCountEstimator.estimate(spec, countKey), seen + 1) : seen;
+        int totalPages = (int) Math.ceilDiv(total, size);
+        return taskListMapper.sliceToTaskPagedListResponseDto(slice, totalPages, CountMode.ESTIMATE);
+    }
+
+    private TaskPagedListResponseDto findTasksAfterCursor(
+            Specification<Task> spec,
+            int size,
+            String sortBy, String sortDirection,
+            String cursor
+    ) {
+        Sort.Direction direction = createDirection(sortDirection);
+        Sort sort = taskCursorCodec.sortFor(sortBy, direction);
+        KeysetScrollPosition position = taskCursorCodec.decode(cursor, sortBy, direction);
+        Specification<Task> seekSpec = spec;
+        if (!position.isInitial()) {
+            Comparable<?> key = (Comparable<?>) position.getKeys().get(sortBy);
+            Long id = (Long) position.getKeys().get("id");
+            seekSpec = spec.and(TaskSpecifications.isNotBefore(sortBy, key, direction))
+                    .and(TaskSpecifications.isAfter(sortBy, key, id, direction));
+        }
+
+        List<TaskListRow> rows = taskRepository.findListRows(seekSpec, sort, 0, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<TaskListRow> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            TaskListRow last = pageRows.getLast();
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(sortBy, last.key(sortBy));
+            keys.put("id", last.id());
+            nextCursor = taskCursorCodec.encode(ScrollPosition.forward(keys), sortBy, direction);
+        }
+        return taskListMapper.tasksToTaskCursorPageResponseDto(toResponseDtos(pageRows), size, nextCursor);
+    }
+
+    private List<TaskResponseDtoNoComments> toResponseDtos(List<TaskListRow> rows) {
+        return rows.stream()
+                .map(TaskListRow::toResponseDto)
+                .toList();
     }
 
     private Pageable createPageable(int page, int size, String sortBy, String sortDirection) {
-        Sort.Direction direction = "desc".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC;
-        return PageRequest.of(page - 1, size, Sort.by(direction, sortBy));
+        return PageRequest.of(page - 1, size, Sort.by(createDirection(sortDirection), sortBy));
+    }
+
+    private Sort.Direction createDirection(String sortDirection) {
+        return "desc".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC;
     }
 
     @Transactional
-    @Cacheable(value = "task", key = "#id")
     public Task getTaskById(long id) {
+        if (negativeCache.isMissing(MISSING_TASK, id)) {
+            throw new TaskNotFoundException("Task id=%d not found".formatted(id));
+        }
         return taskRepository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException("Task id=%d not found".formatted(id)));
+                .orElseThrow(() -> {
+                    negativeCache.markMissing(MISSING_TASK, id);
+                    return new TaskNotFoundException("Task id=%d not found".formatted(id));
+                });
+    }
+
+    @Transactional
+    @Cacheable(value = "task", key = "#id", sync = true)
+    public TaskResponseDtoNoComments getTaskResponseById(long id) {
+        return taskMapper.mapTaskToResponseDtoNoComments(getTaskById(id));
     }
 
     @Transactional
-    @CacheEvict(value = {"tasks", "task"}, key = "#id")
-    public void deleteTaskById(long id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException("Task id=%d not found".formatted(id)));
+    public void deleteTask(Task task) {
         taskRepository.delete(task);
+        cacheTagService.invalidate(taskListCacheKeys.tagsOf(task));
+        evictTasksAfterCommit(List.of(task.getId()));
     }
 }
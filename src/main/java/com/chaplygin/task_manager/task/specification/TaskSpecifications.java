@@ -5,20 +5,26 @@ import com.chaplygin.task_manager.task.model.Status;
 import com.chaplygin.task_manager.task.model.Task;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+
 public class TaskSpecifications {
 
+    private static final char LIKE_ESCAPE = '\\';
+
     public static Specification<Task> hasTitle(String title) {
         return (Root<Task> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) ->
-                title == null ? null : criteriaBuilder.like(root.get("title"), "%" + title + "%");
+                title == null ? null : containsIgnoreCase(criteriaBuilder, root.get("title"), title);
     }
 
     public static Specification<Task> hasDescription(String description) {
         return (Root<Task> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) ->
-                description == null ? null : criteriaBuilder.like(root.get("description"), "%" + description + "%");
+                description == null ? null : containsIgnoreCase(criteriaBuilder, root.get("description"), description);
     }
 
     public static Specification<Task> hasStatus(Status status) {
@@ -48,4 +54,65 @@ public class TaskSpecifications {
             return criteriaBuilder.or(ownerPredicate, assigneePredicate);
         };
     }
+
+    public static Specification<Task> hasIdIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
+
+    /*
+     * Redundant with a keyset predicate "key > v OR (key = v AND id > lastId)", but unlike the OR
+     * it can be used as an index condition, so the scan starts at the cursor instead of the first row.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<Task> isNotBefore(String property, Comparable value, Sort.Direction direction) {
+        return (root, query, criteriaBuilder) -> {
+            if (value == null) {
+                return null;
+            }
+            Expression<Comparable> path = root.get(property);
+            return direction.isAscending()
+                    ? criteriaBuilder.greaterThanOrEqualTo(path, value)
+                    : criteriaBuilder.lessThanOrEqualTo(path, value);
+        };
+    }
+
+    /*
+     * The keyset predicate itself, for queries that seek on (property, id) outside Spring Data's
+     * scroll support. Sorting by id alone needs no tie-breaker.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<Task> isAfter(String property, Comparable value, Long id, Sort.Direction direction) {
+        return (root, query, criteriaBuilder) -> {
+            Expression<Comparable> path = root.get(property);
+            Expression<Long> idPath = root.get("id");
+            if ("id".equals(property)) {
+                return direction.isAscending()
+                        ? criteriaBuilder.greaterThan(path, value)
+                        : criteriaBuilder.lessThan(path, value);
+            }
+            return direction.isAscending()
+                    ? criteriaBuilder.or(
+                            criteriaBuilder.greaterThan(path, value),
+                            criteriaBuilder.and(criteriaBuilder.equal(path, value), criteriaBuilder.greaterThan(idPath, id)))
+                    : criteriaBuilder.or(
+                            criteriaBuilder.lessThan(path, value),
+                            criteriaBuilder.and(criteriaBuilder.equal(path, value), criteriaBuilder.lessThan(idPath, id)));
+        };
+    }
+
+    public static Specification<Task> idGreaterThan(long id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get("id"), id);
+    }
+
+    /*
+     * lower(column) LIKE matches the lower(column) gin_trgm_ops indexes of the V3 migration.
+     * Wildcards in the value are escaped so they match literally.
+     */
+    private static Predicate containsIgnoreCase(CriteriaBuilder criteriaBuilder, Expression<String> path, String value) {
+        String escaped = value.toLowerCase()
+                .replace(String.valueOf(LIKE_ESCAPE), "" + LIKE_ESCAPE + LIKE_ESCAPE)
+                .replace("%", LIKE_ESCAPE + "%")
+                .replace("_", LIKE_ESCAPE + "_");
+        return criteriaBuilder.like(criteriaBuilder.lower(path), "%" + escaped + "%", LIKE_ESCAPE);
+    }
 }
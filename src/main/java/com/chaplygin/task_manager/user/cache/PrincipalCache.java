@@ -0,0 +1,43 @@
+package com.chaplygin.task_manager.user.cache;
+
+import com.chaplygin.task_manager.auth.jwt.JwtUserPrincipal;
+import com.chaplygin.task_manager.cache.support.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class PrincipalCache {
+    private final Cache<String, JwtUserPrincipal> principals;
+    private final Consumer<String> invalidationPublisher;
+
+    public PrincipalCache(long maximumSize, Duration ttl, Consumer<String> invalidationPublisher) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    public JwtUserPrincipal get(String email, Function<String, JwtUserPrincipal> loader) {
+        return principals.get(email, loader);
+    }
+
+    public void evictAfterCommit(String email) {
+        AfterCommit.run(() -> {
+            evictLocal(email);
+            invalidationPublisher.accept(email);
+        });
+    }
+
+    public void evictLocal(String email) {
+        principals.invalidate(email);
+    }
+
+    public Cache<String, JwtUserPrincipal> getNativeCache() {
+        return principals;
+    }
+}
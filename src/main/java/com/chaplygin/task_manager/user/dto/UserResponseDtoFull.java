@@ -2,6 +2,8 @@ package com.chaplygin.task_manager.user.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.io.Serializable;
+
 @Schema(description = "User response DTO with full info")
 public record UserResponseDtoFull(
         @Schema(description = "User Id", example = "1")
@@ -10,5 +12,5 @@ public record UserResponseDtoFull(
         String email,
         @Schema(description = "Username", example = "User1")
         String username
-) {
+) implements Serializable {
 }
@@ -0,0 +1,8 @@
+package com.chaplygin.task_manager.user.model;
+
+public interface AuthenticatedUser {
+
+    Long getId();
+
+    Role getRole();
+}
@@ -0,0 +1,22 @@
+package com.chaplygin.task_manager.user.service;
+
+import com.chaplygin.task_manager.user.model.AuthenticatedUser;
+import com.chaplygin.task_manager.user.model.User;
+import com.chaplygin.task_manager.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CurrentUserService {
+    private final UserRepository userRepository;
+
+    public AuthenticatedUser getCurrentUser() {
+        return (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentUser().getId());
+    }
+}
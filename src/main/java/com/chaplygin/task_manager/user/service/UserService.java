@@ -1,6 +1,8 @@
 package com.chaplygin.task_manager.user.service;
 
+import com.chaplygin.task_manager.cache.negative.NegativeCache;
 import com.chaplygin.task_manager.exception.model.InvalidUserException;
+import com.chaplygin.task_manager.user.cache.PrincipalCache;
 import com.chaplygin.task_manager.user.model.Role;
 import com.chaplygin.task_manager.user.model.User;
 import com.chaplygin.task_manager.user.repository.UserRepository;
@@ -11,18 +13,30 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserService implements UserDetailsService {
     private static final Role ROLE_USER = Role.ROLE_USER;
+    private static final String MISSING_USER_ID = "user:id";
+    private static final String MISSING_USER_EMAIL = "user:email";
 
     private final UserRepository userRepository;
+    private final NegativeCache negativeCache;
+    private final PrincipalCache principalCache;
 
     @Transactional
     public User saveUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        negativeCache.clearAfterCommit(MISSING_USER_ID, savedUser.getId());
+        negativeCache.clearAfterCommit(MISSING_USER_EMAIL, savedUser.getEmail());
+        principalCache.evictAfterCommit(savedUser.getEmail());
+        return savedUser;
     }
 
     @Transactional
@@ -40,13 +54,33 @@ public class UserService implements UserDetailsService {
 
     @Transactional
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        if (negativeCache.isMissing(MISSING_USER_EMAIL, email)) {
+            return Optional.empty();
+        }
+
+        Optional<User> user = userRepository.findByEmail(email);
+        if (user.isEmpty()) {
+            negativeCache.markMissing(MISSING_USER_EMAIL, email);
+        }
+        return user;
     }
 
     @Transactional
     public User findById(Long id) {
+        if (negativeCache.isMissing(MISSING_USER_ID, id)) {
+            throw new UsernameNotFoundException("User with id '%s' not found".formatted(id));
+        }
         return userRepository.findById(id)
-                .orElseThrow(() -> new UsernameNotFoundException("User with id '%s' not found".formatted(id)));
+                .orElseThrow(() -> {
+                    negativeCache.markMissing(MISSING_USER_ID, id);
+                    return new UsernameNotFoundException("User with id '%s' not found".formatted(id));
+                });
+    }
+
+    @Transactional
+    public Map<Long, User> findAllById(Collection<Long> ids) {
+        return userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
     }
 
     @Transactional
@@ -0,0 +1,14 @@
+-- Trailing id keeps the default order index-ordered and breaks ties between cursor pages.
+CREATE INDEX IF NOT EXISTS idx_tasks_owner_id_id ON tasks (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_id_id ON tasks (assignee_id, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_status_id ON tasks (status, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_id ON tasks (priority, id);
+
+-- Cursor pages sorted by title seek on (title, id).
+CREATE INDEX IF NOT EXISTS idx_tasks_title_id ON tasks (title, id);
+
+-- Comment pages of a task ordered by id, and the count/max(id) of CommentRepository.findStatsByTaskId.
+CREATE INDEX IF NOT EXISTS idx_comments_task_id_id ON comments (task_id, id);
+
+-- Deleting a user checks the RESTRICT foreign key of comments.author_id.
+CREATE INDEX IF NOT EXISTS idx_comments_author_id ON comments (author_id);
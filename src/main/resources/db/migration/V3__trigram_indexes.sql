@@ -0,0 +1,12 @@
+-- Without pg_trgm the substring filters fall back to sequential scans.
+DO
+$$
+    BEGIN
+        CREATE EXTENSION IF NOT EXISTS pg_trgm;
+        CREATE INDEX IF NOT EXISTS idx_tasks_title_trgm ON tasks USING gin (lower(title) gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_tasks_description_trgm ON tasks USING gin (lower(description) gin_trgm_ops);
+    EXCEPTION
+        WHEN OTHERS THEN
+            RAISE WARNING 'pg_trgm is not available, skipping trigram indexes: %', SQLERRM;
+    END
+$$;
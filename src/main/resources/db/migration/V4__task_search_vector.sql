@@ -0,0 +1,91 @@
+-- One stored, GIN-indexed vector per language offered by TaskSearchRepository.
+ALTER TABLE tasks
+    ADD COLUMN IF NOT EXISTS search_vector_english tsvector,
+    ADD COLUMN IF NOT EXISTS search_vector_russian tsvector,
+    ADD COLUMN IF NOT EXISTS search_vector_simple  tsvector;
+
+CREATE OR REPLACE FUNCTION tasks_search_vector(config regconfig, task_title text, task_description text,
+                                               comment_text text)
+    RETURNS tsvector
+    LANGUAGE sql
+    IMMUTABLE
+AS
+$$
+SELECT setweight(to_tsvector($1, coalesce($2, '')), 'A')
+    || setweight(to_tsvector($1, coalesce($3, '')), 'B')
+    || setweight(to_tsvector($1, coalesce($4, '')), 'C')
+$$;
+
+CREATE OR REPLACE FUNCTION tasks_comment_text(task_id bigint)
+    RETURNS text
+    LANGUAGE sql
+    STABLE
+AS
+$$
+SELECT string_agg(c.text, ' ')
+FROM comments c
+WHERE c.task_id = $1
+$$;
+
+CREATE OR REPLACE FUNCTION tasks_refresh_search_vectors(task_id bigint) RETURNS void
+    LANGUAGE sql
+AS
+$$
+UPDATE tasks t
+SET search_vector_english = tasks_search_vector('english', t.title, t.description, c.comment_text),
+    search_vector_russian = tasks_search_vector('russian', t.title, t.description, c.comment_text),
+    search_vector_simple  = tasks_search_vector('simple', t.title, t.description, c.comment_text)
+FROM (SELECT tasks_comment_text($1) AS comment_text) c
+WHERE t.id = $1
+$$;
+
+CREATE OR REPLACE FUNCTION tasks_search_vector_trigger() RETURNS trigger
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    comment_text text := tasks_comment_text(NEW.id);
+BEGIN
+    NEW.search_vector_english := tasks_search_vector('english', NEW.title, NEW.description, comment_text);
+    NEW.search_vector_russian := tasks_search_vector('russian', NEW.title, NEW.description, comment_text);
+    NEW.search_vector_simple := tasks_search_vector('simple', NEW.title, NEW.description, comment_text);
+    RETURN NEW;
+END
+$$;
+
+DROP TRIGGER IF EXISTS tasks_search_vector_update ON tasks;
+CREATE TRIGGER tasks_search_vector_update
+    BEFORE INSERT OR UPDATE OF title, description
+    ON tasks
+    FOR EACH ROW
+EXECUTE FUNCTION tasks_search_vector_trigger();
+
+CREATE OR REPLACE FUNCTION comments_search_vector_trigger() RETURNS trigger
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM tasks_refresh_search_vectors(OLD.task_id);
+    END IF;
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW.task_id IS DISTINCT FROM OLD.task_id) THEN
+        PERFORM tasks_refresh_search_vectors(NEW.task_id);
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS comments_search_vector_update ON comments;
+CREATE TRIGGER comments_search_vector_update
+    AFTER INSERT OR UPDATE OF text, task_id OR DELETE
+    ON comments
+    FOR EACH ROW
+EXECUTE FUNCTION comments_search_vector_trigger();
+
+SELECT tasks_refresh_search_vectors(id)
+FROM tasks
+WHERE search_vector_english IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector_english ON tasks USING gin (search_vector_english);
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector_russian ON tasks USING gin (search_vector_russian);
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector_simple ON tasks USING gin (search_vector_simple);
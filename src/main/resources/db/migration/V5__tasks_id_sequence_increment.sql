@@ -0,0 +1,2 @@
+-- Must match the allocation size of the Task id generator.
+ALTER TABLE tasks ALTER COLUMN id SET INCREMENT BY 50;
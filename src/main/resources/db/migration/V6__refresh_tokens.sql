@@ -0,0 +1,23 @@
+CREATE TABLE refresh_tokens
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    token_hash VARCHAR(64)                             NOT NULL,
+    family_id  UUID                                    NOT NULL,
+    user_id    BIGINT                                  NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE                NOT NULL,
+    used_at    TIMESTAMP WITH TIME ZONE,
+    revoked_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id),
+    CONSTRAINT refresh_token_user_fk FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_refresh_tokens_token_hash ON refresh_tokens (token_hash);
+
+-- Reuse detection revokes a family in one statement.
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+
+-- Deleting a user cascades to their tokens.
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+
+-- RefreshTokenService.purgeExpired deletes expired tokens.
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
@@ -0,0 +1,85 @@
+package com.chaplygin.task_manager.auth.controller;
+
+import com.chaplygin.task_manager.BaseTest;
+import com.chaplygin.task_manager.user.dto.SignInRequest;
+import com.chaplygin.task_manager.user.dto.SignUpRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerConnectionTest extends BaseTest {
+
+    private static final String SIGN_IN_PATH = "/api/v1/auth/signin";
+    private static final String SIGN_UP_PATH = "/api/v1/auth/signup";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DataSource dataSource;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    private final List<Integer> activeConnectionsWhileHashing = new ArrayList<>();
+    private final List<Boolean> transactionActiveWhileHashing = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        HikariDataSource hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+        given(passwordEncoder.encode(any())).willAnswer(invocation -> {
+            recordHashing(hikariDataSource);
+            return "encoded";
+        });
+        given(passwordEncoder.matches(any(), anyString())).willAnswer(invocation -> {
+            recordHashing(hikariDataSource);
+            return true;
+        });
+    }
+
+    @Test
+    public void givenSignUpAndSignIn_whenPasswordIsHashed_thenNoConnectionIsHeld() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post(SIGN_UP_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new SignUpRequest("hashing@domain.com", "password", "hashing"))))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        mockMvc.perform(MockMvcRequestBuilders.post(SIGN_IN_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new SignInRequest("hashing@domain.com", "password"))))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        assertThat(activeConnectionsWhileHashing).hasSize(2).containsOnly(0);
+        assertThat(transactionActiveWhileHashing).containsOnly(false);
+    }
+
+    private void recordHashing(HikariDataSource hikariDataSource) {
+        activeConnectionsWhileHashing.add(hikariDataSource.getHikariPoolMXBean().getActiveConnections());
+        transactionActiveWhileHashing.add(TransactionSynchronizationManager.isActualTransactionActive());
+    }
+}
@@ -1,9 +1,12 @@
 package com.chaplygin.task_manager.auth.controller;
 
 import com.chaplygin.task_manager.BaseTest;
+import com.chaplygin.task_manager.auth.dto.RefreshTokenRequest;
+import com.chaplygin.task_manager.auth.dto.RefreshTokenResponse;
 import com.chaplygin.task_manager.auth.dto.SignInResponse;
 import com.chaplygin.task_manager.auth.dto.SignUpResponse;
 import com.chaplygin.task_manager.auth.service.AuthService;
+import com.chaplygin.task_manager.exception.model.InvalidRefreshTokenException;
 import com.chaplygin.task_manager.testDataFactory.SignInRequestFactory;
 import com.chaplygin.task_manager.testDataFactory.SignUpRequestFactory;
 import com.chaplygin.task_manager.user.dto.SignInRequest;
@@ -29,6 +32,7 @@ class AuthControllerTest extends BaseTest {
 
     private final static String SIGN_IN_PATH = "/api/v1/auth/signin";
     private final static String SIGN_UP_PATH = "/api/v1/auth/signup";
+    private final static String REFRESH_PATH = "/api/v1/auth/refresh";
 
     @Autowired
     private MockMvc mockMvc;
@@ -106,4 +110,35 @@ class AuthControllerTest extends BaseTest {
                 )
                 .andExpect(MockMvcResultMatchers.status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenValidRefreshRequest_whenRefresh_thenReturnOk() throws Exception {
+        given(authService.refresh("refreshToken"))
+                .willReturn(new RefreshTokenResponse("accessToken", "nextRefreshToken"));
+
+        String jsonRequest = objectMapper.writeValueAsString(new RefreshTokenRequest("refreshToken"));
+
+        mockMvc.perform(
+                        MockMvcRequestBuilders.post(REFRESH_PATH)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(jsonRequest)
+                )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.refreshToken").value("nextRefreshToken"));
+    }
+
+    @Test
+    public void givenReusedRefreshToken_whenRefresh_thenReturnUnauthorized() throws Exception {
+        given(authService.refresh("refreshToken"))
+                .willThrow(new InvalidRefreshTokenException("Refresh token reused"));
+
+        String jsonRequest = objectMapper.writeValueAsString(new RefreshTokenRequest("refreshToken"));
+
+        mockMvc.perform(
+                        MockMvcRequestBuilders.post(REFRESH_PATH)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(jsonRequest)
+                )
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+    }
+}
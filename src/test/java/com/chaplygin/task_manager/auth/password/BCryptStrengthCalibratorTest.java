@@ -0,0 +1,37 @@
+package com.chaplygin.task_manager.auth.password;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BCryptStrengthCalibratorTest {
+
+    @Test
+    public void givenBaseHashOf20ms_whenTargetIs250ms_thenStrengthWithinTargetIsChosen() {
+        BCryptStrengthCalibrator calibrator = new BCryptStrengthCalibrator(strength -> TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertThat(calibrator.calibrate(Duration.ofMillis(250))).isEqualTo(11);
+    }
+
+    @Test
+    public void givenNoisyRuns_whenCalibrate_thenFastestRunIsUsed() {
+        AtomicInteger run = new AtomicInteger();
+        BCryptStrengthCalibrator calibrator = new BCryptStrengthCalibrator(
+                strength -> TimeUnit.MILLISECONDS.toNanos(run.getAndIncrement() == 2 ? 10 : 500)
+        );
+
+        assertThat(calibrator.calibrate(Duration.ofMillis(80))).isEqualTo(11);
+    }
+
+    @Test
+    public void givenTargetBelowBaseHash_whenStrengthFor_thenStrengthIsLoweredButNotBelowMinimum() {
+        assertThat(BCryptStrengthCalibrator.strengthFor(TimeUnit.MILLISECONDS.toNanos(40), TimeUnit.MILLISECONDS.toNanos(10)))
+                .isEqualTo(6);
+        assertThat(BCryptStrengthCalibrator.strengthFor(TimeUnit.SECONDS.toNanos(1), 1))
+                .isEqualTo(BCryptStrengthCalibrator.MIN_STRENGTH);
+    }
+}
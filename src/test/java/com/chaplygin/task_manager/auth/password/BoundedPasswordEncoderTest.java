@@ -0,0 +1,105 @@
+package com.chaplygin.task_manager.auth.password;
+
+import com.chaplygin.task_manager.exception.model.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final PasswordEncoder blockingPasswordEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "encoded:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("encoded:" + rawPassword);
+        }
+    };
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordEncoder.close();
+    }
+
+    @Test
+    public void givenIdlePool_whenEncodeAndMatches_thenDelegateResultIsReturnedAndTimed() {
+        passwordEncoder = new BoundedPasswordEncoder(blockingPasswordEncoder, 1, 1, Duration.ofSeconds(5), meterRegistry);
+        release.countDown();
+
+        String encoded = passwordEncoder.encode("password");
+
+        assertThat(encoded).isEqualTo("encoded:password");
+        assertThat(passwordEncoder.matches("password", encoded)).isTrue();
+        assertThat(passwordEncoder.matches("other", encoded)).isFalse();
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenBusyWorkerAndFullQueue_whenEncode_thenRejectedWithoutWaiting() throws Exception {
+        passwordEncoder = new BoundedPasswordEncoder(blockingPasswordEncoder, 1, 1, Duration.ofSeconds(5), meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("second"));
+        while (meterRegistry.get("auth.password.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> passwordEncoder.encode("third"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("encoded:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("encoded:second");
+    }
+
+    @Test
+    public void givenHashSlowerThanMaxWait_whenEncode_thenRejected() {
+        passwordEncoder = new BoundedPasswordEncoder(blockingPasswordEncoder, 1, 1, Duration.ofMillis(50), meterRegistry);
+
+        assertThatThrownBy(() -> passwordEncoder.encode("password"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenQueuedHashTimesOut_whenEncode_thenItsQueueSlotIsFreed() throws Exception {
+        passwordEncoder = new BoundedPasswordEncoder(blockingPasswordEncoder, 1, 1, Duration.ofMillis(200), meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> passwordEncoder.encode("second"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+
+        assertThat(meterRegistry.get("auth.password.queue").gauge().value()).isZero();
+        release.countDown();
+        assertThat(running).failsWithin(5, TimeUnit.SECONDS);
+    }
+}
@@ -1,14 +1,17 @@
 package com.chaplygin.task_manager.auth.service;
 
+import com.chaplygin.task_manager.auth.dto.RefreshTokenResponse;
 import com.chaplygin.task_manager.auth.dto.SignInResponse;
 import com.chaplygin.task_manager.auth.dto.SignUpResponse;
+import com.chaplygin.task_manager.auth.model.RotatedRefreshToken;
+import com.chaplygin.task_manager.exception.model.InvalidRefreshTokenException;
 import com.chaplygin.task_manager.exception.model.InvalidUserException;
 import com.chaplygin.task_manager.testDataFactory.UserFactory;
 import com.chaplygin.task_manager.user.dto.UserResponseDtoFull;
 import com.chaplygin.task_manager.user.mapper.UserMapper;
-import com.chaplygin.task_manager.user.model.Role;
 import com.chaplygin.task_manager.user.model.User;
 import com.chaplygin.task_manager.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -19,6 +22,8 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
 
@@ -27,6 +32,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
@@ -41,10 +48,20 @@ class AuthServiceTest {
     private AuthenticationManager authenticationManager;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private RefreshTokenService refreshTokenService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
 
     @InjectMocks
     private AuthService authService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
     @Test
     public void givenValidUser_whenSignUp_thenReturnAccessTokenResponse() {
         User userFromRequest = UserFactory.createUser1FromRequest();
@@ -55,14 +72,18 @@ class AuthServiceTest {
                 .willReturn("encodedPassword");
         given(userService.createUser(userFromRequest))
                 .willReturn(savedUser);
-        given(jwtService.generateAccessToken(anyString(), any(Role.class)))
+        given(jwtService.generateAccessToken(any(User.class)))
                 .willReturn("accessToken");
         given(userMapper.mapUserToUserResponseDtoFull(any()))
                 .willReturn(dtoFull);
 
+        given(refreshTokenService.issue(savedUser))
+                .willReturn("refreshToken");
+
         SignUpResponse response = authService.signUp(userFromRequest);
 
         assertThat("accessToken").isEqualTo(response.getAccessToken());
+        assertThat("refreshToken").isEqualTo(response.getRefreshToken());
     }
 
     @Test
@@ -83,12 +104,16 @@ class AuthServiceTest {
 
         given(userService.findByEmail(anyString()))
                 .willReturn(Optional.of(foundUser));
-        given(jwtService.generateAccessToken(anyString(), any(Role.class)))
+        given(jwtService.generateAccessToken(any(User.class)))
                 .willReturn("accessToken");
 
+        given(refreshTokenService.issue(foundUser))
+                .willReturn("refreshToken");
+
         SignInResponse response = authService.signIn(userFromRequest);
 
         assertThat("accessToken").isEqualTo(response.getAccessToken());
+        assertThat("refreshToken").isEqualTo(response.getRefreshToken());
     }
 
     @Test
@@ -112,4 +137,29 @@ class AuthServiceTest {
         assertThatThrownBy(() -> authService.signIn(userFromRequest))
                 .isInstanceOf(UsernameNotFoundException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenValidRefreshToken_whenRefresh_thenReturnNewTokensWithoutAuthentication() {
+        User foundUser = UserFactory.createUser1Saved();
+
+        given(refreshTokenService.rotate("refreshToken"))
+                .willReturn(new RotatedRefreshToken(foundUser, "nextRefreshToken"));
+        given(jwtService.generateAccessToken(foundUser))
+                .willReturn("accessToken");
+
+        RefreshTokenResponse response = authService.refresh("refreshToken");
+
+        assertThat(response.getAccessToken()).isEqualTo("accessToken");
+        assertThat(response.getRefreshToken()).isEqualTo("nextRefreshToken");
+        verifyNoInteractions(authenticationManager, passwordEncoder, userService);
+    }
+
+    @Test
+    public void givenInvalidRefreshToken_whenRefresh_thenThrowInvalidRefreshTokenException() {
+        given(refreshTokenService.rotate("refreshToken"))
+                .willThrow(new InvalidRefreshTokenException("Refresh token reused"));
+
+        assertThatThrownBy(() -> authService.refresh("refreshToken"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+}
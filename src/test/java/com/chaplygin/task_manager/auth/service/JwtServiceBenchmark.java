@@ -0,0 +1,73 @@
+package com.chaplygin.task_manager.auth.service;
+
+import com.chaplygin.task_manager.testDataFactory.UserFactory;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * extractEmail for one repeatedly presented token:
+ *   rebuiltParser      - the previous implementation, key and parser derived on every call
+ *   sharedParser       - key and parser built once, verified-token cache disabled
+ *   verifiedTokenCache - key and parser built once, repeated token served from the cache
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.include=JwtServiceBenchmark
+ */
+public class JwtServiceBenchmark {
+    private static final String SECRET = "faadd63584c84e672ff5824b4f85226faadd63584c84e672ff5824b4f85226";
+
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public abstract static class ExtractEmail {
+        private JwtService sharedParserService;
+        private JwtService verifiedTokenCacheService;
+        private String token;
+
+        @Setup
+        public void setUp() {
+            sharedParserService = new JwtService(SECRET, Duration.ofHours(1), 0);
+            verifiedTokenCacheService = new JwtService(SECRET, Duration.ofHours(1), 10_000);
+            token = sharedParserService.generateAccessToken(UserFactory.createUser1Saved());
+        }
+
+        @Benchmark
+        public String rebuiltParser() {
+            return Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload()
+                    .getSubject();
+        }
+
+        @Benchmark
+        public String sharedParser() {
+            return sharedParserService.extractEmail(token);
+        }
+
+        @Benchmark
+        public String verifiedTokenCache() {
+            return verifiedTokenCacheService.extractEmail(token);
+        }
+    }
+
+    @Threads(1)
+    public static class Threads1 extends ExtractEmail {
+    }
+
+    @Threads(8)
+    public static class Threads8 extends ExtractEmail {
+    }
+
+    @Threads(32)
+    public static class Threads32 extends ExtractEmail {
+    }
+}
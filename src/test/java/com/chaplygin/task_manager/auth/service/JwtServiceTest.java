@@ -1,38 +1,40 @@
 package com.chaplygin.task_manager.auth.service;
 
+import com.chaplygin.task_manager.auth.jwt.JwtUserPrincipal;
+import com.chaplygin.task_manager.testDataFactory.UserFactory;
 import com.chaplygin.task_manager.user.model.Role;
+import com.chaplygin.task_manager.user.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-@ExtendWith(MockitoExtension.class)
 class JwtServiceTest {
+    private static final String SECRET = "faadd63584c84e672ff5824b4f85226faadd63584c84e672ff5824b4f85226";
 
-    @InjectMocks
     private JwtService jwtService;
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(jwtService, "jwtSecret", "faadd63584c84e672ff5824b4f85226faadd63584c84e672ff5824b4f85226");
-        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", Duration.ofMinutes(10));
+        jwtService = new JwtService(SECRET, Duration.ofMinutes(10), 100);
     }
 
     @Test
-    void givenEmailAndRoles_whenGenerateAccessToken_thenReturnAccessTokenWithEmailAsSubjAndGivenRoles() {
-        String email = "user1@doamin.com";
-        Role role = Role.ROLE_USER;
+    void givenUser_whenGenerateAccessToken_thenReturnAccessTokenWithEmailAsSubjAndUserClaims() {
+        User user = UserFactory.createUser1Saved();
+        String email = user.getEmail();
+        Role role = user.getRole();
 
-        String token = jwtService.generateAccessToken(email, role);
+        String token = jwtService.generateAccessToken(user);
 
         assertThat(token).isNotBlank();
 
@@ -45,17 +47,78 @@ class JwtServiceTest {
 
         assertThat(claims.getSubject()).isEqualTo(email);
         assertThat(claims.get("roles")).isEqualTo(List.of(role.toString()));
+        assertThat(claims.get("uid", Number.class).longValue()).isEqualTo(user.getId());
+        assertThat(claims.get("username")).isEqualTo(user.getUsername());
     }
 
     @Test
     public void givenValidToken_whenExtractEmail_thenReturnEmail() {
-        String email = "user1@doamin.com";
-        Role role = Role.ROLE_USER;
+        User user = UserFactory.createUser1Saved();
+        String email = user.getEmail();
 
-        String token = jwtService.generateAccessToken(email, role);
+        String token = jwtService.generateAccessToken(user);
 
         String extractedEmail = jwtService.extractEmail(token);
 
         assertThat(extractedEmail).isEqualTo(email);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenValidToken_whenExtractPrincipal_thenReturnPrincipalFromClaims() {
+        User user = UserFactory.createUser1Saved();
+
+        Claims claims = jwtService.extractClaims(jwtService.generateAccessToken(user));
+        Optional<JwtUserPrincipal> principal = jwtService.extractPrincipal(claims);
+
+        assertThat(principal).contains(
+                new JwtUserPrincipal(user.getId(), user.getEmail(), user.getUsername(), user.getRole())
+        );
+    }
+
+    @Test
+    public void givenTokenWithoutUserClaims_whenExtractPrincipal_thenReturnEmpty() {
+        String token = Jwts.builder()
+                .subject("user1@domain.com")
+                .signWith(jwtService.getSigningKey())
+                .compact();
+
+        Optional<JwtUserPrincipal> principal = jwtService.extractPrincipal(jwtService.extractClaims(token));
+
+        assertThat(principal).isEmpty();
+    }
+
+    @Test
+    public void givenVerifiedToken_whenExtractEmailAgain_thenReturnSameEmail() {
+        User user = UserFactory.createUser1Saved();
+        String token = jwtService.generateAccessToken(user);
+
+        jwtService.extractEmail(token);
+        String extractedEmail = jwtService.extractEmail(token);
+
+        assertThat(extractedEmail).isEqualTo(user.getEmail());
+    }
+
+    @Test
+    public void givenTamperedCopyOfVerifiedToken_whenExtractEmail_thenThrowSignatureException() {
+        String token = jwtService.generateAccessToken(UserFactory.createUser1Saved());
+        jwtService.extractEmail(token);
+        String otherToken = new JwtService(SECRET, Duration.ofMinutes(10), 0)
+                .generateAccessToken(UserFactory.createUser2Saved());
+        String[] parts = token.split("\\.");
+        String[] otherParts = otherToken.split("\\.");
+
+        assertThatThrownBy(() -> jwtService.extractEmail(parts[0] + "." + otherParts[1] + "." + parts[2]))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    public void givenExpiredToken_whenExtractEmail_thenThrowExpiredJwtException() {
+        String token = new JwtService(SECRET, Duration.ofMillis(-1), 0)
+                .generateAccessToken(UserFactory.createUser1Saved());
+
+        assertThatThrownBy(() -> jwtService.extractEmail(token))
+                .isInstanceOf(ExpiredJwtException.class);
+        assertThatThrownBy(() -> jwtService.extractEmail(token))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+}
@@ -0,0 +1,157 @@
+package com.chaplygin.task_manager.auth.service;
+
+import com.chaplygin.task_manager.auth.model.RefreshToken;
+import com.chaplygin.task_manager.auth.model.RotatedRefreshToken;
+import com.chaplygin.task_manager.auth.repository.RefreshTokenRepository;
+import com.chaplygin.task_manager.exception.model.InvalidRefreshTokenException;
+import com.chaplygin.task_manager.testDataFactory.UserFactory;
+import com.chaplygin.task_manager.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private final User user = UserFactory.createUser1Saved();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTokenExpiration", Duration.ofDays(30));
+    }
+
+    @Test
+    public void givenUser_whenIssue_thenOnlyHashOfTokenIsStored() {
+        String rawToken = refreshTokenService.issue(user);
+
+        RefreshToken stored = captureSaved(1).getFirst();
+        assertThat(stored.getTokenHash()).hasSize(64).isNotEqualTo(rawToken);
+        assertThat(stored.getUser()).isEqualTo(user);
+        assertThat(stored.getFamilyId()).isNotNull();
+        assertThat(stored.getExpiresAt()).isAfter(Instant.now().plus(Duration.ofDays(29)));
+    }
+
+    @Test
+    public void givenUnusedToken_whenRotate_thenItIsMarkedUsedAndNextTokenOfSameFamilyIsIssued() {
+        String rawToken = refreshTokenService.issue(user);
+        RefreshToken stored = captureSaved(1).getFirst();
+        stored.setId(10L);
+        given(refreshTokenRepository.findByTokenHash(stored.getTokenHash()))
+                .willReturn(Optional.of(stored));
+        given(refreshTokenRepository.markUsed(eq(10L), any(Instant.class)))
+                .willReturn(1);
+
+        RotatedRefreshToken rotated = refreshTokenService.rotate(rawToken);
+
+        assertThat(rotated.user()).isEqualTo(user);
+        assertThat(rotated.refreshToken()).isNotEqualTo(rawToken);
+        RefreshToken next = captureSaved(2).getLast();
+        assertThat(next.getFamilyId()).isEqualTo(stored.getFamilyId());
+        assertThat(next.getTokenHash()).isNotEqualTo(stored.getTokenHash());
+    }
+
+    @Test
+    public void givenUsedToken_whenRotate_thenFamilyIsRevokedAndReuseIsRejected() {
+        RefreshToken stored = createStoredToken();
+        stored.setUsedAt(Instant.now().minusSeconds(60));
+        given(refreshTokenRepository.findByTokenHash(anyString()))
+                .willReturn(Optional.of(stored));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("refreshToken"))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessageContaining("reused");
+        verify(refreshTokenRepository).revokeFamily(eq(stored.getFamilyId()), any(Instant.class));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    public void givenTokenRotatedConcurrently_whenRotate_thenFamilyIsRevokedAndReuseIsRejected() {
+        RefreshToken stored = createStoredToken();
+        given(refreshTokenRepository.findByTokenHash(anyString()))
+                .willReturn(Optional.of(stored));
+        given(refreshTokenRepository.markUsed(eq(stored.getId()), any(Instant.class)))
+                .willReturn(0);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("refreshToken"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        verify(refreshTokenRepository).revokeFamily(eq(stored.getFamilyId()), any(Instant.class));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    public void givenExpiredToken_whenRotate_thenRejectedWithoutRevokingFamily() {
+        RefreshToken stored = createStoredToken();
+        stored.setExpiresAt(Instant.now().minusSeconds(1));
+        given(refreshTokenRepository.findByTokenHash(anyString()))
+                .willReturn(Optional.of(stored));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("refreshToken"))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessageContaining("expired");
+        verify(refreshTokenRepository, never()).markUsed(any(), any());
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    public void givenUnknownToken_whenRotate_thenThrowInvalidRefreshTokenException() {
+        given(refreshTokenRepository.findByTokenHash(anyString()))
+                .willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("refreshToken"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    public void givenExpiredTokens_whenPurgeExpired_thenTokensExpiredBeforeNowAreDeleted() {
+        Instant before = Instant.now();
+
+        refreshTokenService.purgeExpired();
+
+        ArgumentCaptor<Instant> now = ArgumentCaptor.forClass(Instant.class);
+        verify(refreshTokenRepository).deleteExpired(now.capture());
+        assertThat(now.getValue()).isBetween(before, Instant.now());
+    }
+
+    private RefreshToken createStoredToken() {
+        RefreshToken stored = new RefreshToken();
+        stored.setId(10L);
+        stored.setTokenHash("0".repeat(64));
+        stored.setFamilyId(UUID.randomUUID());
+        stored.setUser(user);
+        stored.setExpiresAt(Instant.now().plus(Duration.ofDays(1)));
+        return stored;
+    }
+
+    private List<RefreshToken> captureSaved(int count) {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, times(count)).save(captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,74 @@
+package com.chaplygin.task_manager.cache.near;
+
+import com.chaplygin.task_manager.task.dto.TaskPagedListResponseDto;
+import com.chaplygin.task_manager.testDataFactory.TaskFactory;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/*
+ * L2 is a store-by-value ConcurrentMapCache, so an L2 hit pays the same JDK deserialization as a
+ * RedisCache hit but not the network round trip; real L2 hits and misses are slower by one RTT.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.include=NearCacheBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NearCacheBenchmark {
+    private static final String KEY = "all:v1:[1, 10, null, null, null, null, id, asc]";
+
+    private NearCache nearCache;
+    private TaskPagedListResponseDto page;
+
+    @Setup
+    public void setUp() {
+        page = new TaskPagedListResponseDto(
+                LongStream.rangeClosed(1, 10)
+                        .mapToObj(id -> TaskFactory.createTaskResponseDtoNoComments())
+                        .toList(),
+                0,
+                10,
+                10
+        );
+        ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager();
+        remoteCacheManager.setStoreByValue(true);
+        remoteCacheManager.setBeanClassLoader(getClass().getClassLoader());
+        Cache remoteCache = remoteCacheManager.getCache("tasks");
+        nearCache = new NearCache(
+                remoteCache,
+                Caffeine.newBuilder()
+                        .maximumSize(10_000)
+                        .expireAfterWrite(Duration.ofMinutes(1))
+                        .build(),
+                key -> {
+                }
+        );
+        nearCache.put(KEY, page);
+    }
+
+    @Benchmark
+    public Object l1Hit() {
+        return nearCache.get(KEY, Object.class);
+    }
+
+    @Benchmark
+    public Object l2Hit() {
+        nearCache.evictLocal(KEY);
+        return nearCache.get(KEY, Object.class);
+    }
+
+    @Benchmark
+    public Object miss() {
+        nearCache.evict(KEY);
+        return nearCache.get(KEY, () -> page);
+    }
+}
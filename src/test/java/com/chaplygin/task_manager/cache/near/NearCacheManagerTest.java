@@ -0,0 +1,81 @@
+package com.chaplygin.task_manager.cache.near;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearCacheManagerTest {
+
+    private ConcurrentMapCacheManager remoteCacheManager;
+    private NearCacheManager nearCacheManager;
+    private List<NearCacheInvalidation> published;
+
+    @BeforeEach
+    void setUp() {
+        remoteCacheManager = new ConcurrentMapCacheManager();
+        published = new ArrayList<>();
+        nearCacheManager = new NearCacheManager(
+                remoteCacheManager, Set.of("task"), 100, Duration.ofMinutes(1), published::add
+        );
+    }
+
+    @Test
+    public void givenNearCacheName_whenGetCache_thenReturnNearCache() {
+        assertThat(nearCacheManager.getCache("task")).isInstanceOf(NearCache.class);
+        assertThat(nearCacheManager.getCache("other")).isNotInstanceOf(NearCache.class);
+    }
+
+    @Test
+    public void givenLocalCopy_whenRemoteEntryChanges_thenLocalCopyIsServed() {
+        Cache cache = nearCacheManager.getCache("task");
+        cache.put(1L, "cached");
+
+        remoteCacheManager.getCache("task").put(1L, "changed");
+
+        assertThat(cache.get(1L, String.class)).isEqualTo("cached");
+    }
+
+    @Test
+    public void givenInvalidationFromOtherNode_whenApply_thenLocalCopyIsDropped() {
+        Cache cache = nearCacheManager.getCache("task");
+        cache.put(1L, "cached");
+        remoteCacheManager.getCache("task").put(1L, "changed");
+
+        nearCacheManager.applyInvalidation(new NearCacheInvalidation("other-node", "task", 1L));
+
+        assertThat(cache.get(1L, String.class)).isEqualTo("changed");
+    }
+
+    @Test
+    public void givenOwnInvalidation_whenApply_thenLocalCopyIsKept() {
+        Cache cache = nearCacheManager.getCache("task");
+        cache.put(1L, "cached");
+        remoteCacheManager.getCache("task").put(1L, "changed");
+
+        nearCacheManager.applyInvalidation(published.getFirst());
+
+        assertThat(cache.get(1L, String.class)).isEqualTo("cached");
+    }
+
+    @Test
+    public void givenCachedEntry_whenEvict_thenInvalidationIsPublished() {
+        Cache cache = nearCacheManager.getCache("task");
+        cache.put(1L, "cached");
+        published.clear();
+
+        cache.evict(1L);
+
+        assertThat(published).hasSize(1);
+        assertThat(published.getFirst().cacheName()).isEqualTo("task");
+        assertThat(published.getFirst().key()).isEqualTo(1L);
+        assertThat(remoteCacheManager.getCache("task").get(1L)).isNull();
+    }
+}
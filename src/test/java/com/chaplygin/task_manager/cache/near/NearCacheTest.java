@@ -0,0 +1,90 @@
+package com.chaplygin.task_manager.cache.near;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearCacheTest {
+
+    private SlowRemoteCache remoteCache;
+    private NearCache nearCache;
+
+    @BeforeEach
+    void setUp() {
+        remoteCache = new SlowRemoteCache();
+        nearCache = new NearCache(remoteCache, Caffeine.newBuilder().build(), key -> {
+        });
+    }
+
+    @Test
+    public void givenInvalidationDuringRemoteGet_whenGet_thenStaleValueIsNotKeptLocally() {
+        remoteCache.put(1L, "stale");
+        remoteCache.duringRead = () -> {
+            remoteCache.put(1L, "fresh");
+            nearCache.evictLocal(1L);
+        };
+
+        assertThat(nearCache.get(1L, String.class)).isEqualTo("stale");
+
+        remoteCache.duringRead = () -> {
+        };
+        assertThat(nearCache.get(1L, String.class)).isEqualTo("fresh");
+    }
+
+    @Test
+    public void givenInvalidationDuringRemoteLoad_whenGetWithLoader_thenStaleValueIsNotKeptLocally() {
+        remoteCache.put(1L, "stale");
+        remoteCache.duringRead = () -> {
+            remoteCache.put(1L, "fresh");
+            nearCache.evictLocal(1L);
+        };
+
+        assertThat(nearCache.get(1L, () -> "loaded")).isEqualTo("stale");
+
+        remoteCache.duringRead = () -> {
+        };
+        assertThat(nearCache.get(1L, () -> "loaded")).isEqualTo("fresh");
+    }
+
+    @Test
+    public void givenInvalidationOfOtherKeyDuringRemoteGet_whenGet_thenValueIsKeptLocally() {
+        remoteCache.put(1L, "cached");
+        remoteCache.duringRead = () -> nearCache.evictLocal(2L);
+        nearCache.get(1L);
+
+        remoteCache.duringRead = () -> {
+        };
+        remoteCache.put(1L, "changed");
+
+        assertThat(nearCache.get(1L, String.class)).isEqualTo("cached");
+    }
+
+    private static class SlowRemoteCache extends ConcurrentMapCache {
+        private Runnable duringRead = () -> {
+        };
+
+        SlowRemoteCache() {
+            super("task");
+        }
+
+        @Override
+        public ValueWrapper get(@NonNull Object key) {
+            ValueWrapper value = super.get(key);
+            duringRead.run();
+            return value;
+        }
+
+        @Override
+        public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+            T value = super.get(key, valueLoader);
+            duringRead.run();
+            return value;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.chaplygin.task_manager.cache.negative;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NegativeCacheTest {
+
+    private NegativeCache negativeCache;
+    private List<String> published;
+
+    @BeforeEach
+    void setUp() {
+        published = new ArrayList<>();
+        negativeCache = new NegativeCache(100, Duration.ofMinutes(1), published::add);
+    }
+
+    @Test
+    public void givenMarkedId_whenIsMissing_thenReturnTrueOnlyForThatTypeAndId() {
+        negativeCache.markMissing("task", 1L);
+
+        assertThat(negativeCache.isMissing("task", 1L)).isTrue();
+        assertThat(negativeCache.isMissing("task", 2L)).isFalse();
+        assertThat(negativeCache.isMissing("user:id", 1L)).isFalse();
+    }
+
+    @Test
+    public void givenMarkedId_whenClearAfterCommit_thenMarkerIsDroppedAndPublished() {
+        negativeCache.markMissing("task", 1L);
+
+        negativeCache.clearAfterCommit("task", 1L);
+
+        assertThat(negativeCache.isMissing("task", 1L)).isFalse();
+        assertThat(published).containsExactly("task:1");
+    }
+
+    @Test
+    public void givenMarkedId_whenLookups_thenHitsAndMissesAreRecorded() {
+        negativeCache.markMissing("task", 1L);
+
+        negativeCache.isMissing("task", 1L);
+        negativeCache.isMissing("task", 2L);
+
+        assertThat(negativeCache.getNativeCache().stats().hitCount()).isEqualTo(1);
+        assertThat(negativeCache.getNativeCache().stats().missCount()).isEqualTo(1);
+    }
+}
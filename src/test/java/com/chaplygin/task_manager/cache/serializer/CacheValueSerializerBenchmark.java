@@ -0,0 +1,76 @@
+package com.chaplygin.task_manager.cache.serializer;
+
+import com.chaplygin.task_manager.task.dto.TaskPagedListResponseDto;
+import com.chaplygin.task_manager.task.dto.TaskResponseDtoNoComments;
+import com.chaplygin.task_manager.task.model.Priority;
+import com.chaplygin.task_manager.task.model.Status;
+import com.chaplygin.task_manager.user.dto.UserResponseDtoFull;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/*
+ * Default JDK serializer vs CompactCacheValueSerializer (without and with LZ4) for a "tasks" page.
+ * Sizes are printed on setup.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.include=CacheValueSerializerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheValueSerializerBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    @Param({"jdk", "compact", "compactLz4"})
+    private String serializerType;
+
+    private RedisSerializer<Object> serializer;
+    private TaskPagedListResponseDto page;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        serializer = switch (serializerType) {
+            case "jdk" -> RedisSerializer.java();
+            case "compact" -> new CompactCacheValueSerializer(0);
+            case "compactLz4" -> new CompactCacheValueSerializer(1);
+            default -> throw new IllegalArgumentException(serializerType);
+        };
+
+        List<UserResponseDtoFull> users = LongStream.rangeClosed(1, 5)
+                .mapToObj(id -> new UserResponseDtoFull(id, "user%d@domain.com".formatted(id), "User%d".formatted(id)))
+                .toList();
+        List<TaskResponseDtoNoComments> tasks = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> new TaskResponseDtoNoComments(
+                        id,
+                        "Task %d: implement new feature".formatted(id),
+                        "Implement a new feature to enhance the user experience, step %d.".formatted(id),
+                        users.get((int) (id % users.size())),
+                        users.get((int) ((id + 1) % users.size())),
+                        Status.values()[(int) (id % Status.values().length)],
+                        Priority.values()[(int) (id % Priority.values().length)]
+                ))
+                .toList();
+        page = new TaskPagedListResponseDto(tasks, 0, pageSize, 100);
+        bytes = serializer.serialize(page);
+        System.out.printf("%s, %d tasks: %d bytes%n", serializerType, pageSize, bytes.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(page);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+}
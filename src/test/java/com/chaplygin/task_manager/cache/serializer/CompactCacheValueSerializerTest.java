@@ -0,0 +1,91 @@
+package com.chaplygin.task_manager.cache.serializer;
+
+import com.chaplygin.task_manager.comment.dto.CommentPagedListResponseDto;
+import com.chaplygin.task_manager.comment.dto.CommentResponseDtoFull;
+import com.chaplygin.task_manager.task.dto.TaskPagedListResponseDto;
+import com.chaplygin.task_manager.task.dto.TaskResponseDtoNoComments;
+import com.chaplygin.task_manager.testDataFactory.TaskFactory;
+import com.chaplygin.task_manager.testDataFactory.UserFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactCacheValueSerializerTest {
+
+    private final CompactCacheValueSerializer serializer = new CompactCacheValueSerializer(0);
+
+    @Test
+    public void givenTaskResponse_whenSerializeAndDeserialize_thenReturnEqualTask() {
+        TaskResponseDtoNoComments task = TaskFactory.createTaskResponseDtoNoComments();
+
+        Object deserialized = serializer.deserialize(serializer.serialize(task));
+
+        assertThat(deserialized).isEqualTo(task);
+    }
+
+    @Test
+    public void givenTaskPage_whenSerializeAndDeserialize_thenReturnEqualPage() {
+        TaskPagedListResponseDto taskPage = TaskFactory.createTaskPagedListResponseDto();
+
+        Object deserialized = serializer.deserialize(serializer.serialize(taskPage));
+
+        assertThat(deserialized).isEqualTo(taskPage);
+    }
+
+    @Test
+    public void givenTaskWithNullFields_whenSerializeAndDeserialize_thenNullsArePreserved() {
+        TaskResponseDtoNoComments task = new TaskResponseDtoNoComments(null, null, null, null, null, null, null);
+
+        Object deserialized = serializer.deserialize(serializer.serialize(task));
+
+        assertThat(deserialized).isEqualTo(task);
+    }
+
+    @Test
+    public void givenCommentPage_whenSerializeAndDeserialize_thenReturnEqualPage() {
+        CommentPagedListResponseDto commentPage = new CommentPagedListResponseDto(
+                List.of(new CommentResponseDtoFull("Very cool task!", UserFactory.createUserResponseDtoFull())),
+                0,
+                10,
+                1
+        );
+
+        Object deserialized = serializer.deserialize(serializer.serialize(commentPage));
+
+        assertThat(deserialized).isEqualTo(commentPage);
+    }
+
+    @Test
+    public void givenLargePageAndThreshold_whenSerialize_thenValueIsCompressedAndRestored() {
+        CompactCacheValueSerializer compressingSerializer = new CompactCacheValueSerializer(64);
+        TaskPagedListResponseDto taskPage = new TaskPagedListResponseDto(
+                Collections.nCopies(20, TaskFactory.createTaskResponseDtoNoComments()),
+                0,
+                20,
+                1
+        );
+
+        byte[] compressed = compressingSerializer.serialize(taskPage);
+
+        assertThat(compressed.length).isLessThan(serializer.serialize(taskPage).length);
+        assertThat(compressingSerializer.deserialize(compressed)).isEqualTo(taskPage);
+    }
+
+    @Test
+    public void givenOtherFormatVersion_whenDeserialize_thenReturnNull() {
+        byte[] bytes = serializer.serialize(TaskFactory.createTaskResponseDtoNoComments());
+        bytes[0] = CompactCacheValueSerializer.FORMAT_VERSION + 1;
+
+        assertThat(serializer.deserialize(bytes)).isNull();
+    }
+
+    @Test
+    public void givenUnknownValueType_whenSerializeAndDeserialize_thenFallBackToJavaSerialization() {
+        Object deserialized = serializer.deserialize(serializer.serialize("plain value"));
+
+        assertThat(deserialized).isEqualTo("plain value");
+    }
+}
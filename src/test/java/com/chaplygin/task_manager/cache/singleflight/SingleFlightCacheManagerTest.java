@@ -0,0 +1,153 @@
+package com.chaplygin.task_manager.cache.singleflight;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightCacheManagerTest {
+    private static final int CALLERS = 8;
+
+    private ConcurrentMapCacheManager delegateCacheManager;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        delegateCacheManager = new ConcurrentMapCacheManager();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void givenConcurrentMisses_whenGet_thenValueIsLoadedOnce() throws Exception {
+        Cache cache = singleFlightCacheManager(null).getCache("tasks");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            Future<String> leader = executor.submit(() -> cache.get("page", () -> {
+                loads.incrementAndGet();
+                loadStarted.countDown();
+                releaseLoad.await();
+                return "loaded";
+            }));
+            loadStarted.await();
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 1; i < CALLERS; i++) {
+                followers.add(executor.submit(() -> cache.get("page", () -> {
+                    loads.incrementAndGet();
+                    return "loaded again";
+                })));
+            }
+            awaitCoalesced(CALLERS - 1);
+            releaseLoad.countDown();
+
+            assertThat(leader.get()).isEqualTo("loaded");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get()).isEqualTo("loaded");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(delegateCacheManager.getCache("tasks").get("page", String.class)).isEqualTo("loaded");
+        assertThat(meterRegistry.get("cache.loads").tag("cache", "tasks").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenFailingLoad_whenGet_thenFailureIsNotCachedAndNextCallLoads() {
+        Cache cache = singleFlightCacheManager(null).getCache("task");
+
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw new IllegalStateException("database is down");
+        }))
+                .isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get(1L, () -> "loaded")).isEqualTo("loaded");
+    }
+
+    @Test
+    public void givenLockHeldByOtherNode_whenValueAppears_thenRemoteLoadIsReused() {
+        Cache cache = singleFlightCacheManager(new HeldByOtherNode("task", 1L, "loaded elsewhere"))
+                .getCache("task");
+
+        Object value = cache.get(1L, () -> "loaded here");
+
+        assertThat(value).isEqualTo("loaded elsewhere");
+        assertThat(coalesced("task", "remote")).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.loads").tag("cache", "task").counter().count()).isZero();
+    }
+
+    @Test
+    public void givenLockHeldByOtherNode_whenWaitExpires_thenValueIsLoadedLocally() {
+        Cache cache = singleFlightCacheManager(new HeldByOtherNode("task", 1L, null)).getCache("task");
+
+        Object value = cache.get(1L, () -> "loaded here");
+
+        assertThat(value).isEqualTo("loaded here");
+        assertThat(coalesced("task", "remote")).isZero();
+    }
+
+    private SingleFlightCacheManager singleFlightCacheManager(LoadLock loadLock) {
+        return new SingleFlightCacheManager(
+                delegateCacheManager, loadLock, Duration.ofMillis(200), Duration.ofMillis(10), meterRegistry
+        );
+    }
+
+    private double coalesced(String cacheName, String scope) {
+        return meterRegistry.get("cache.loads.coalesced")
+                .tag("cache", cacheName)
+                .tag("scope", scope)
+                .counter()
+                .count();
+    }
+
+    private void awaitCoalesced(int callers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced("tasks", "local") < callers && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private class HeldByOtherNode implements LoadLock {
+        private final String cacheName;
+        private final Object key;
+        private final Object remoteValue;
+
+        HeldByOtherNode(String cacheName, Object key, Object remoteValue) {
+            this.cacheName = cacheName;
+            this.key = key;
+            this.remoteValue = remoteValue;
+        }
+
+        @Override
+        public boolean tryLock(String lockKey) {
+            if (remoteValue != null) {
+                delegateCacheManager.getCache(cacheName).put(key, remoteValue);
+            }
+            return false;
+        }
+
+        @Override
+        public void unlock(String lockKey) {
+        }
+    }
+}
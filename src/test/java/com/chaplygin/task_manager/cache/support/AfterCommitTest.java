@@ -0,0 +1,48 @@
+package com.chaplygin.task_manager.cache.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class AfterCommitTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void givenFailingItem_whenForEachAfterCommit_thenFailureIsSwallowedAndOtherItemsRun() {
+        List<String> renewed = new ArrayList<>();
+        TransactionSynchronizationManager.initSynchronization();
+
+        AfterCommit.forEach(List.of("tag1", "tag2", "tag3"), tag -> {
+            if (tag.equals("tag2")) {
+                throw new IllegalStateException("Redis is down");
+            }
+            renewed.add(tag);
+        });
+        assertThat(renewed).isEmpty();
+
+        assertThatCode(() -> TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit))
+                .doesNotThrowAnyException();
+        assertThat(renewed).containsExactly("tag1", "tag3");
+    }
+
+    @Test
+    public void givenNoTransaction_whenRunFails_thenFailureIsSwallowed() {
+        assertThatCode(() -> AfterCommit.run(() -> {
+            throw new IllegalStateException("Redis is down");
+        })).doesNotThrowAnyException();
+    }
+}
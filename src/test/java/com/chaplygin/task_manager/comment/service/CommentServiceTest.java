@@ -0,0 +1,202 @@
+package com.chaplygin.task_manager.comment.service;
+
+import com.chaplygin.task_manager.cache.service.CacheTagService;
+import com.chaplygin.task_manager.comment.cache.CommentPageCache;
+import com.chaplygin.task_manager.comment.dto.CommentPagedListResponseDto;
+import com.chaplygin.task_manager.comment.dto.CommentResponseDtoFull;
+import com.chaplygin.task_manager.comment.mapper.CommentListMapper;
+import com.chaplygin.task_manager.comment.mapper.CommentMapper;
+import com.chaplygin.task_manager.comment.model.Comment;
+import com.chaplygin.task_manager.comment.repository.CommentRepository;
+import com.chaplygin.task_manager.comment.repository.CommentStats;
+import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.testDataFactory.TaskFactory;
+import com.chaplygin.task_manager.testDataFactory.UserFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringJUnitConfig
+@TestPropertySource(properties = "taskManager.cache.comments.inPlacePageSizes=2")
+class CommentServiceTest {
+    private static final int SIZE = 2;
+
+    @MockBean
+    private CommentRepository commentRepository;
+    @MockBean
+    private CommentListMapper commentListMapper;
+    @MockBean
+    private CommentMapper commentMapper;
+
+    @Autowired
+    private CommentService commentService;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final Task task = TaskFactory.createTask();
+    private final CommentResponseDtoFull first = comment("first");
+    private final CommentResponseDtoFull second = comment("second");
+    private final CommentResponseDtoFull third = comment("third");
+    private final CommentResponseDtoFull fourth = comment("fourth");
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        given(commentRepository.save(any(Comment.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        givenStoredPage(task.getId(), 1, new CommentPagedListResponseDto(List.of(first, second), 0, SIZE, 2));
+        givenStoredPage(task.getId(), 2, new CommentPagedListResponseDto(List.of(third), 1, SIZE, 2));
+    }
+
+    @Test
+    public void givenDifferentPages_whenGetComments_thenEachPageIsCachedSeparately() {
+        CommentPagedListResponseDto firstPage = commentService.getCommentsByTaskId(task.getId(), 1, SIZE);
+        CommentPagedListResponseDto secondPage = commentService.getCommentsByTaskId(task.getId(), 2, SIZE);
+        commentService.getCommentsByTaskId(task.getId(), 1, SIZE);
+
+        assertThat(firstPage.comments()).containsExactly(first, second);
+        assertThat(secondPage.comments()).containsExactly(third);
+        verify(commentRepository, times(2)).findByTaskId(eq(task.getId()), any(Pageable.class));
+    }
+
+    @Test
+    public void givenCachedPagesOfTwoTasks_whenSaveComment_thenOnlyThatTaskIsReloaded() {
+        Long otherTaskId = 2L;
+        givenStoredPage(otherTaskId, 1, new CommentPagedListResponseDto(List.of(first), 0, SIZE, 1));
+        givenStats(task.getId(), 4, 4L);
+        commentService.getCommentsByTaskId(task.getId(), 1, SIZE);
+        commentService.getCommentsByTaskId(otherTaskId, 1, SIZE);
+        clearInvocations(commentRepository);
+
+        commentService.saveComment(newComment(4L, fourth));
+        commentService.getCommentsByTaskId(task.getId(), 1, SIZE);
+        commentService.getCommentsByTaskId(otherTaskId, 1, SIZE);
+
+        verify(commentRepository, times(1)).findByTaskId(eq(task.getId()), any(Pageable.class));
+        verify(commentRepository, never()).findByTaskId(eq(otherTaskId), any(Pageable.class));
+    }
+
+    @Test
+    public void givenCachedLastPageWithRoom_whenSaveComment_thenLastPageIsUpdatedInPlace() {
+        givenStats(task.getId(), 4, 4L);
+        commentService.getCommentsByTaskId(task.getId(), 2, SIZE);
+        clearInvocations(commentRepository);
+
+        commentService.saveComment(newComment(4L, fourth));
+        CommentPagedListResponseDto lastPage = commentService.getCommentsByTaskId(task.getId(), 2, SIZE);
+
+        assertThat(lastPage).isEqualTo(new CommentPagedListResponseDto(List.of(third, fourth), 1, SIZE, 2));
+        verify(commentRepository, never()).findByTaskId(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    public void givenCachedFullLastPage_whenSaveComment_thenNewLastPageIsCached() {
+        givenStoredPage(task.getId(), 1, new CommentPagedListResponseDto(List.of(first, second), 0, SIZE, 1));
+        givenStats(task.getId(), 3, 5L);
+        commentService.getCommentsByTaskId(task.getId(), 1, SIZE);
+        clearInvocations(commentRepository);
+
+        commentService.saveComment(newComment(5L, fourth));
+        CommentPagedListResponseDto lastPage = commentService.getCommentsByTaskId(task.getId(), 2, SIZE);
+
+        assertThat(lastPage).isEqualTo(new CommentPagedListResponseDto(List.of(fourth), 1, SIZE, 2));
+        verify(commentRepository, never()).findByTaskId(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    public void givenUncachedPreviousLastPage_whenSaveComment_thenNewLastPageIsReloaded() {
+        givenStats(task.getId(), 5, 5L);
+
+        commentService.saveComment(newComment(5L, fourth));
+        commentService.getCommentsByTaskId(task.getId(), 3, SIZE);
+
+        verify(commentRepository, times(1)).findByTaskId(eq(task.getId()), any(Pageable.class));
+    }
+
+    @Test
+    public void givenConcurrentComment_whenSaveComment_thenLastPageIsReloaded() {
+        givenStats(task.getId(), 5, 5L);
+        commentService.getCommentsByTaskId(task.getId(), 2, SIZE);
+        clearInvocations(commentRepository);
+
+        commentService.saveComment(newComment(4L, fourth));
+        commentService.getCommentsByTaskId(task.getId(), 2, SIZE);
+
+        verify(commentRepository, times(1)).findByTaskId(eq(task.getId()), any(Pageable.class));
+    }
+
+    private void givenStoredPage(Long taskId, int page, CommentPagedListResponseDto dto) {
+        Page<Comment> storedPage = new PageImpl<>(List.of(), PageRequest.of(page - 1, SIZE), 0);
+        given(commentRepository.findByTaskId(taskId, PageRequest.of(page - 1, SIZE, Sort.by("id"))))
+                .willReturn(storedPage);
+        given(commentListMapper.pageToCommentPagedListResponseDto(storedPage))
+                .willReturn(dto);
+    }
+
+    private void givenStats(Long taskId, long total, Long lastId) {
+        given(commentRepository.findStatsByTaskId(taskId))
+                .willReturn(new CommentStats() {
+                    @Override
+                    public long getTotal() {
+                        return total;
+                    }
+
+                    @Override
+                    public Long getLastId() {
+                        return lastId;
+                    }
+                });
+    }
+
+    private Comment newComment(Long id, CommentResponseDtoFull dto) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setText(dto.text());
+        comment.setTask(task);
+        comment.setAuthor(UserFactory.createUser1Saved());
+        given(commentMapper.mapCommentToCommentResponseDto(comment))
+                .willReturn(dto);
+        return comment;
+    }
+
+    private static CommentResponseDtoFull comment(String text) {
+        return new CommentResponseDtoFull(text, UserFactory.createUserResponseDtoFull());
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import({CommentService.class, CommentPageCache.class, CacheTagService.class})
+    static class Config {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.chaplygin.task_manager.permission.engine;
+
+import com.chaplygin.task_manager.exception.model.AccessDeniedException;
+import com.chaplygin.task_manager.permission.model.TaskAction;
+import com.chaplygin.task_manager.task.repository.TaskAccessRow;
+import com.chaplygin.task_manager.testDataFactory.UserFactory;
+import com.chaplygin.task_manager.user.model.Role;
+import com.chaplygin.task_manager.user.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskPermissionEngineTest {
+
+    private final TaskPermissionEngine taskPermissionEngine = new TaskPermissionEngine();
+
+    private final User user1 = UserFactory.createUser1Saved();
+    private final User user2 = UserFactory.createUser2Saved();
+
+    @Test
+    public void givenOwner_whenAllowedActions_thenEveryAction() {
+        assertThat(taskPermissionEngine.allowedActions(1L, Role.ROLE_USER, 1L, 2L))
+                .isEqualTo(EnumSet.allOf(TaskAction.class));
+    }
+
+    @Test
+    public void givenAssignee_whenAllowedActions_thenOnlyStatus() {
+        assertThat(taskPermissionEngine.allowedActions(2L, Role.ROLE_USER, 1L, 2L))
+                .containsExactly(TaskAction.UPDATE_STATUS);
+    }
+
+    @Test
+    public void givenAdminOfForeignTask_whenAllowedActions_thenEveryAction() {
+        assertThat(taskPermissionEngine.allowedActions(3L, Role.ROLE_ADMIN, 1L, 2L))
+                .isEqualTo(EnumSet.allOf(TaskAction.class));
+    }
+
+    @Test
+    public void givenPageOfTasks_whenAllowedActions_thenActionsPerTaskInOrder() {
+        Map<Long, Set<TaskAction>> allowedActions = taskPermissionEngine.allowedActions(user2, List.of(
+                new TaskAccessRow(3L, user2.getId(), user1.getId()),
+                new TaskAccessRow(1L, user1.getId(), user2.getId()),
+                new TaskAccessRow(2L, user1.getId(), user1.getId())
+        ));
+
+        assertThat(allowedActions).containsExactly(
+                Map.entry(3L, EnumSet.allOf(TaskAction.class)),
+                Map.entry(1L, EnumSet.of(TaskAction.UPDATE_STATUS)),
+                Map.entry(2L, EnumSet.noneOf(TaskAction.class))
+        );
+    }
+
+    @Test
+    public void givenAssignee_whenCheckDelete_thenAccessDeniedWithActionMessage() {
+        assertThatThrownBy(() -> taskPermissionEngine.check(
+                TaskAction.DELETE, user2, new TaskAccessRow(1L, user1.getId(), user2.getId())
+        ))
+                .isInstanceOf(AccessDeniedException.class)
+                .hasMessage("You do not have permission to delete this task.");
+    }
+}
@@ -0,0 +1,109 @@
+package com.chaplygin.task_manager.ratelimit.filter;
+
+import com.chaplygin.task_manager.ratelimit.limiter.RateLimit;
+import com.chaplygin.task_manager.ratelimit.limiter.RateLimitGroup;
+import com.chaplygin.task_manager.ratelimit.limiter.RateLimiter;
+import com.chaplygin.task_manager.testDataFactory.UserFactory;
+import com.chaplygin.task_manager.user.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    private static final RateLimit AUTH_LIMIT = new RateLimit(10, Duration.ofMinutes(1));
+    private static final RateLimit READ_LIMIT = new RateLimit(300, Duration.ofMinutes(1));
+    private static final RateLimit WRITE_LIMIT = new RateLimit(60, Duration.ofMinutes(1));
+
+    @Mock
+    private RateLimiter rateLimiter;
+    @Mock
+    private FilterChain filterChain;
+
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitFilter = new RateLimitFilter(
+                rateLimiter,
+                new ObjectMapper().registerModule(new JavaTimeModule()),
+                "/api/v1",
+                Map.of(RateLimitGroup.AUTH, AUTH_LIMIT, RateLimitGroup.READ, READ_LIMIT, RateLimitGroup.WRITE, WRITE_LIMIT)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void givenAuthenticatedUser_whenGetTasks_thenLimitedPerUserAsRead() throws Exception {
+        User user = UserFactory.createUser1Saved();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())
+        );
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        rateLimitFilter.doFilter(request, response, filterChain);
+
+        verify(rateLimiter).tryAcquire("READ:user:1", READ_LIMIT);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    public void givenSignIn_whenFilter_thenLimitedPerIp() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/sign-in");
+        request.setRemoteAddr("10.0.0.7");
+
+        rateLimitFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(rateLimiter).tryAcquire("AUTH:ip:10.0.0.7", AUTH_LIMIT);
+    }
+
+    @Test
+    public void givenEmptyBucket_whenFilter_thenTooManyRequestsWithRetryAfter() throws Exception {
+        given(rateLimiter.tryAcquire(any(), eq(WRITE_LIMIT)))
+                .willReturn(Duration.ofMillis(1500).toNanos());
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/tasks");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        rateLimitFilter.doFilter(request, response, filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(response.getContentAsString()).contains("\"status\":429");
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    public void givenRequestOutsideApi_whenFilter_thenNotLimited() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/swagger-ui/index.html");
+
+        rateLimitFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verifyNoInteractions(rateLimiter);
+    }
+}
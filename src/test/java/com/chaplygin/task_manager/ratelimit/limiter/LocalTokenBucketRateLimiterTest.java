@@ -0,0 +1,68 @@
+package com.chaplygin.task_manager.ratelimit.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalTokenBucketRateLimiterTest {
+
+    private static final RateLimit LIMIT = new RateLimit(3, Duration.ofSeconds(3));
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final LocalTokenBucketRateLimiter rateLimiter =
+            new LocalTokenBucketRateLimiter(100, Duration.ofMinutes(1), now::get);
+
+    @Test
+    public void givenFullBucket_whenBurstOfCapacity_thenAllAdmittedAndNextWaitsOneInterval() {
+        assertThat(IntStream.range(0, 3).mapToLong(i -> rateLimiter.tryAcquire("user:1", LIMIT)))
+                .containsOnly(0L);
+
+        assertThat(rateLimiter.tryAcquire("user:1", LIMIT)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    public void givenEmptyBucket_whenOneIntervalPasses_thenOneTokenIsRefilled() {
+        IntStream.range(0, 3).forEach(i -> rateLimiter.tryAcquire("user:1", LIMIT));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(rateLimiter.tryAcquire("user:1", LIMIT)).isZero();
+        assertThat(rateLimiter.tryAcquire("user:1", LIMIT)).isPositive();
+    }
+
+    @Test
+    public void givenEmptyBucketOfOneKey_whenAcquireForAnotherKey_thenAdmitted() {
+        IntStream.range(0, 3).forEach(i -> rateLimiter.tryAcquire("user:1", LIMIT));
+
+        assertThat(rateLimiter.tryAcquire("user:2", LIMIT)).isZero();
+    }
+
+    @Test
+    public void givenConcurrentRequests_whenAcquire_thenExactlyCapacityAdmitted() throws Exception {
+        RateLimit limit = new RateLimit(100, Duration.ofHours(1));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<Long>[] admitted = IntStream.range(0, 8)
+                    .mapToObj(thread -> executor.submit(() -> IntStream.range(0, 50)
+                            .filter(i -> rateLimiter.tryAcquire("user:1", limit) == 0)
+                            .count()))
+                    .toArray(Future[]::new);
+
+            long total = 0;
+            for (Future<Long> future : admitted) {
+                total += future.get();
+            }
+            assertThat(total).isEqualTo(100);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
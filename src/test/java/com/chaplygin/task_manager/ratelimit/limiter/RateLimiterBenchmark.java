@@ -0,0 +1,67 @@
+package com.chaplygin.task_manager.ratelimit.limiter;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Per-request cost of LocalTokenBucketRateLimiter on the admitting path, which every request within
+ * its limit takes:
+ *   ownKey    - every thread has its own bucket, as distinct users do
+ *   sharedKey - all threads take tokens from one bucket, the worst case for the CAS loop
+ * The limit is high enough that no request is refused.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.include=RateLimiterBenchmark
+ */
+public class RateLimiterBenchmark {
+    private static final RateLimit LIMIT = new RateLimit(1_000_000_000L, Duration.ofSeconds(1));
+
+    @State(Scope.Benchmark)
+    public static class Limiter {
+        private final AtomicInteger threads = new AtomicInteger();
+        private LocalTokenBucketRateLimiter rateLimiter;
+
+        @Setup
+        public void setUp() {
+            rateLimiter = new LocalTokenBucketRateLimiter(100_000, Duration.ofMinutes(1), System::nanoTime);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        private String key;
+
+        @Setup
+        public void setUp(Limiter limiter) {
+            key = "READ:user:" + limiter.threads.incrementAndGet();
+        }
+    }
+
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public abstract static class TryAcquire {
+
+        @Benchmark
+        public long ownKey(Limiter limiter, Client client) {
+            return limiter.rateLimiter.tryAcquire(client.key, LIMIT);
+        }
+
+        @Benchmark
+        public long sharedKey(Limiter limiter) {
+            return limiter.rateLimiter.tryAcquire("READ:user:0", LIMIT);
+        }
+    }
+
+    @Threads(1)
+    public static class Threads1 extends TryAcquire {
+    }
+
+    @Threads(8)
+    public static class Threads8 extends TryAcquire {
+    }
+}
@@ -0,0 +1,47 @@
+package com.chaplygin.task_manager.ratelimit.limiter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class RedisTokenBucketRateLimiterTest {
+
+    private static final RateLimit LIMIT = new RateLimit(3, Duration.ofSeconds(3));
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Test
+    public void givenScriptReturnsWait_whenTryAcquire_thenWaitIsReturnedInNanos() {
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString()))
+                .willReturn(1_500L);
+
+        long waitNanos = new RedisTokenBucketRateLimiter(redisTemplate, "rateLimit:").tryAcquire("user:1", LIMIT);
+
+        assertThat(waitNanos).isEqualTo(TimeUnit.MICROSECONDS.toNanos(1_500));
+    }
+
+    @Test
+    public void givenRedisUnavailable_whenTryAcquire_thenRequestIsAdmitted() {
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString()))
+                .willThrow(new RedisConnectionFailureException("Connection refused"));
+
+        long waitNanos = new RedisTokenBucketRateLimiter(redisTemplate, "rateLimit:").tryAcquire("user:1", LIMIT);
+
+        assertThat(waitNanos).isZero();
+    }
+}
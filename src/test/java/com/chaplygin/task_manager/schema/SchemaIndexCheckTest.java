@@ -0,0 +1,65 @@
+package com.chaplygin.task_manager.schema;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class SchemaIndexCheckTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private SchemaIndexCheck schemaIndexCheck;
+
+    @Test
+    public void givenAllIndexes_whenFindMissingIndexes_thenEmpty() {
+        given(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .willReturn(SchemaIndexCheck.EXPECTED_INDEXES);
+
+        assertThat(schemaIndexCheck.findMissingIndexes()).isEmpty();
+    }
+
+    @Test
+    public void givenMissingIndexes_whenFindMissingIndexes_thenTheyAreReported() {
+        given(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .willReturn(List.of("idx_tasks_owner_id_id", "idx_tasks_assignee_id_id", "pk_tasks"));
+
+        assertThat(schemaIndexCheck.findMissingIndexes())
+                .contains("idx_tasks_status_id", "idx_tasks_title_trgm", "idx_comments_task_id_id")
+                .doesNotContain("idx_tasks_owner_id_id", "idx_tasks_assignee_id_id");
+    }
+
+    @Test
+    public void givenMissingIndexesAndFailOnMissing_whenRun_thenStartupFails() {
+        ReflectionTestUtils.setField(schemaIndexCheck, "failOnMissing", true);
+        given(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .willReturn(List.of());
+
+        assertThatThrownBy(() -> schemaIndexCheck.run(null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("idx_tasks_owner_id_id");
+    }
+
+    @Test
+    public void givenMissingIndexes_whenRun_thenOnlyWarns() {
+        given(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .willReturn(List.of());
+
+        assertThatCode(() -> schemaIndexCheck.run(null)).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,75 @@
+package com.chaplygin.task_manager.schema;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+@ActiveProfiles("test")
+@Import(SchemaIndexCheck.class)
+class SchemaMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SchemaIndexCheck schemaIndexCheck;
+
+    @DynamicPropertySource
+    static void registerDatabaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () ->
+                String.format("jdbc:postgresql://localhost:%d/%s",
+                        postgresContainer.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT),
+                        postgresContainer.getDatabaseName()));
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Test
+    public void givenMigratedDatabase_whenFindMissingIndexes_thenNoneAreMissing() {
+        assertThat(schemaIndexCheck.findMissingIndexes()).isEmpty();
+    }
+
+    @Test
+    public void givenMigratedDatabase_whenSeedDataIsApplied_thenAdminExists() {
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM users WHERE email = 'admin@domain.com'", Integer.class
+        )).isEqualTo(1);
+    }
+
+    @Test
+    public void givenTrigramIndexes_whenExplainTitleAndDescriptionFilters_thenIndexesAreUsed() {
+        jdbcTemplate.execute("""
+                INSERT INTO tasks (title, description, owner_id, assignee_id, status, priority)
+                SELECT 'Task ' || n, 'Description of task number ' || n, 1, 1, 'PENDING', 'LOW'
+                FROM generate_series(1, 5000) n""");
+        jdbcTemplate.execute("ANALYZE tasks");
+
+        assertThat(explain("lower(title) LIKE '%task 42%' ESCAPE '\\'"))
+                .anyMatch(line -> line.contains("idx_tasks_title_trgm"));
+        assertThat(explain("lower(description) LIKE '%number 4242%' ESCAPE '\\'"))
+                .anyMatch(line -> line.contains("idx_tasks_description_trgm"));
+    }
+
+    private List<String> explain(String predicate) {
+        return jdbcTemplate.queryForList("EXPLAIN SELECT * FROM tasks WHERE " + predicate, String.class);
+    }
+}
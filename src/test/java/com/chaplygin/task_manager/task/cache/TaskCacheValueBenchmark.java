@@ -0,0 +1,78 @@
+package com.chaplygin.task_manager.task.cache;
+
+import com.chaplygin.task_manager.task.dto.TaskPagedListResponseDto;
+import com.chaplygin.task_manager.task.dto.TaskResponseDtoNoComments;
+import com.chaplygin.task_manager.task.model.Priority;
+import com.chaplygin.task_manager.task.model.Status;
+import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.testDataFactory.TaskFactory;
+import com.chaplygin.task_manager.testDataFactory.UserFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/*
+ * Compares the "tasks" cache value before (Page<Task> entity graph) and after
+ * (TaskPagedListResponseDto) with the default JDK Redis serializer. Sizes are printed on setup.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.include=TaskCacheValueBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskCacheValueBenchmark {
+    private static final int PAGE_SIZE = 10;
+
+    private final RedisSerializer<Object> serializer = RedisSerializer.java();
+
+    private byte[] entityPageBytes;
+    private byte[] dtoPageBytes;
+
+    @Setup
+    public void setUp() {
+        List<Task> tasks = LongStream.rangeClosed(1, PAGE_SIZE).mapToObj(id -> {
+            Task task = TaskFactory.createTask(UserFactory.createUser1Saved(), UserFactory.createUser2Saved());
+            task.setId(id);
+            task.setComments(List.of());
+            return task;
+        }).toList();
+        Page<Task> entityPage = new PageImpl<>(tasks, PageRequest.of(0, PAGE_SIZE), 100);
+
+        List<TaskResponseDtoNoComments> taskDtos = LongStream.rangeClosed(1, PAGE_SIZE)
+                .mapToObj(id -> new TaskResponseDtoNoComments(
+                        id,
+                        "Test task",
+                        "Test description",
+                        UserFactory.createUserResponseDtoFull(),
+                        UserFactory.createUserResponseDtoFull(),
+                        Status.IN_PROGRESS,
+                        Priority.MEDIUM
+                ))
+                .toList();
+        TaskPagedListResponseDto dtoPage = new TaskPagedListResponseDto(taskDtos, 0, PAGE_SIZE, 10);
+
+        entityPageBytes = serializer.serialize(entityPage);
+        dtoPageBytes = serializer.serialize(dtoPage);
+        System.out.printf("Page<Task>: %d bytes, TaskPagedListResponseDto: %d bytes%n",
+                entityPageBytes.length, dtoPageBytes.length);
+    }
+
+    @Benchmark
+    public Object deserializeEntityPage() {
+        return serializer.deserialize(entityPageBytes);
+    }
+
+    @Benchmark
+    public Object deserializeDtoPage() {
+        return serializer.deserialize(dtoPageBytes);
+    }
+}
@@ -5,7 +5,6 @@ import com.chaplygin.task_manager.exception.model.TaskNotFoundException;
 import com.chaplygin.task_manager.task.dto.TaskCreateDto;
 import com.chaplygin.task_manager.task.dto.TaskPagedListResponseDto;
 import com.chaplygin.task_manager.task.dto.TaskResponseDtoNoComments;
-import com.chaplygin.task_manager.task.mapper.TaskListMapper;
 import com.chaplygin.task_manager.task.mapper.TaskMapper;
 import com.chaplygin.task_manager.task.model.Task;
 import com.chaplygin.task_manager.task.service.TaskService;
@@ -19,7 +18,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -49,8 +47,6 @@ class TaskControllerTest extends BaseTest {
     private TaskService taskService;
     @MockBean
     private TaskMapper taskMapper;
-    @MockBean
-    private TaskListMapper taskListMapper;
 
     @BeforeEach
     void setUp() {
@@ -70,7 +66,7 @@ class TaskControllerTest extends BaseTest {
                 .willReturn(task);
         given(taskMapper.mapTaskToResponseDtoNoComments(any(Task.class)))
                 .willReturn(taskResponseDto);
-        given(taskMapper.mapCreateDtoToTask(any(TaskCreateDto.class)))
+        given(taskMapper.mapCreateDtoToTask(any(TaskCreateDto.class), any(), any()))
                 .willReturn(task);
         String jsonRequest = objectMapper.writeValueAsString(taskCreateDto);
 
@@ -92,7 +88,7 @@ class TaskControllerTest extends BaseTest {
                 .willReturn(task);
         given(taskMapper.mapTaskToResponseDtoNoComments(any(Task.class)))
                 .willReturn(taskResponseDto);
-        given(taskMapper.mapCreateDtoToTask(any(TaskCreateDto.class)))
+        given(taskMapper.mapCreateDtoToTask(any(TaskCreateDto.class), any(), any()))
                 .willReturn(task);
         String jsonRequest = objectMapper.writeValueAsString(invalidTaskCreateDto);
 
@@ -106,12 +102,9 @@ class TaskControllerTest extends BaseTest {
 
     @Test
     public void givenValidParameters_whenGetAllTasks_thenReturnOk() throws Exception {
-        Page<Task> taskPage = TaskFactory.createTaskPage();
         TaskPagedListResponseDto taskPagedListResponseDto = TaskFactory.createTaskPagedListResponseDto();
 
-        given(taskService.getAllTasks(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString()))
-                .willReturn(taskPage);
-        given(taskListMapper.pageToTaskPagedListResponseDto(taskPage))
+        given(taskService.getAllTasks(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString(), any(), any()))
                 .willReturn(taskPagedListResponseDto);
 
         mockMvc.perform(
@@ -124,12 +117,9 @@ class TaskControllerTest extends BaseTest {
 
     @Test
     public void givenInvalidParameters_whenGetAllTasks_thenReturnBadRequest() throws Exception {
-        Page<Task> taskPage = TaskFactory.createTaskPage();
         TaskPagedListResponseDto taskPagedListResponseDto = TaskFactory.createTaskPagedListResponseDto();
 
-        given(taskService.getAllTasks(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString()))
-                .willReturn(taskPage);
-        given(taskListMapper.pageToTaskPagedListResponseDto(taskPage))
+        given(taskService.getAllTasks(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString(), any(), any()))
                 .willReturn(taskPagedListResponseDto);
 
         mockMvc.perform(
@@ -142,12 +132,9 @@ class TaskControllerTest extends BaseTest {
 
     @Test
     public void givenValidParameters_whenGetTasksForUser_thenReturnOk() throws Exception {
-        Page<Task> taskPage = TaskFactory.createTaskPage();
         TaskPagedListResponseDto taskPagedListResponseDto = TaskFactory.createTaskPagedListResponseDto();
 
-        given(taskService.getTasksForUser(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString(), anyLong()))
-                .willReturn(taskPage);
-        given(taskListMapper.pageToTaskPagedListResponseDto(taskPage))
+        given(taskService.getTasksForUser(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString(), any(), any(), anyLong()))
                 .willReturn(taskPagedListResponseDto);
 
         mockMvc.perform(
@@ -160,12 +147,9 @@ class TaskControllerTest extends BaseTest {
 
     @Test
     public void givenInvalidParameters_whenGetTasksForUser_thenReturnBadRequest() throws Exception {
-        Page<Task> taskPage = TaskFactory.createTaskPage();
         TaskPagedListResponseDto taskPagedListResponseDto = TaskFactory.createTaskPagedListResponseDto();
 
-        given(taskService.getTasksForUser(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString(), anyLong()))
-                .willReturn(taskPage);
-        given(taskListMapper.pageToTaskPagedListResponseDto(taskPage))
+        given(taskService.getTasksForUser(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString(), any(), any(), anyLong()))
                 .willReturn(taskPagedListResponseDto);
 
         mockMvc.perform(
@@ -179,12 +163,9 @@ class TaskControllerTest extends BaseTest {
 
     @Test
     public void givenValidParameters_whenGetTasksForOwner_thenReturnOk() throws Exception {
-        Page<Task> taskPage = TaskFactory.createTaskPage();
         TaskPagedListResponseDto taskPagedListResponseDto = TaskFactory.createTaskPagedListResponseDto();
 
-        given(taskService.getTasksForOwner(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString(), anyLong()))
-                .willReturn(taskPage);
-        given(taskListMapper.pageToTaskPagedListResponseDto(taskPage))
+        given(taskService.getTasksForOwner(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString(), any(), any(), anyLong()))
                 .willReturn(taskPagedListResponseDto);
 
         mockMvc.perform(
@@ -197,12 +178,9 @@ class TaskControllerTest extends BaseTest {
 
     @Test
     public void givenInvalidParameters_whenGetTasksForOwner_thenReturnBadRequest() throws Exception {
-        Page<Task> taskPage = TaskFactory.createTaskPage();
         TaskPagedListResponseDto taskPagedListResponseDto = TaskFactory.createTaskPagedListResponseDto();
 
-        given(taskService.getTasksForOwner(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString(), anyLong()))
-                .willReturn(taskPage);
-        given(taskListMapper.pageToTaskPagedListResponseDto(taskPage))
+        given(taskService.getTasksForOwner(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString(), any(), any(), anyLong()))
                 .willReturn(taskPagedListResponseDto);
 
         mockMvc.perform(
@@ -216,12 +194,9 @@ class TaskControllerTest extends BaseTest {
 
     @Test
     public void givenValidParameters_whenGetTasksForAssignee_thenReturnOk() throws Exception {
-        Page<Task> taskPage = TaskFactory.createTaskPage();
         TaskPagedListResponseDto taskPagedListResponseDto = TaskFactory.createTaskPagedListResponseDto();
 
-        given(taskService.getTasksForAssignee(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString(), anyLong()))
-                .willReturn(taskPage);
-        given(taskListMapper.pageToTaskPagedListResponseDto(taskPage))
+        given(taskService.getTasksForAssignee(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString(), any(), any(), anyLong()))
                 .willReturn(taskPagedListResponseDto);
 
         mockMvc.perform(
@@ -234,12 +209,9 @@ class TaskControllerTest extends BaseTest {
 
     @Test
     public void givenInvalidParameters_whenGetTasksForAssignee_thenReturnBadRequest() throws Exception {
-        Page<Task> taskPage = TaskFactory.createTaskPage();
         TaskPagedListResponseDto taskPagedListResponseDto = TaskFactory.createTaskPagedListResponseDto();
 
-        given(taskService.getTasksForAssignee(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString(), anyLong()))
-                .willReturn(taskPage);
-        given(taskListMapper.pageToTaskPagedListResponseDto(taskPage))
+        given(taskService.getTasksForAssignee(anyInt(), anyInt(), anyString(), anyString(), any(), any(), anyString(), anyString(), any(), any(), anyLong()))
                 .willReturn(taskPagedListResponseDto);
 
         mockMvc.perform(
@@ -253,12 +225,9 @@ class TaskControllerTest extends BaseTest {
 
     @Test
     public void givenValidTaskId_whenGetTaskById_thenReturnOk() throws Exception {
-        Task task = TaskFactory.createTask();
         TaskResponseDtoNoComments taskResponseDto = TaskFactory.createTaskResponseDtoNoComments();
 
-        given(taskService.getTaskById(anyLong()))
-                .willReturn(task);
-        given(taskMapper.mapTaskToResponseDtoNoComments(task))
+        given(taskService.getTaskResponseById(anyLong()))
                 .willReturn(taskResponseDto);
 
         mockMvc.perform(
@@ -269,13 +238,8 @@ class TaskControllerTest extends BaseTest {
 
     @Test
     public void givenInvalidTaskId_whenGetTaskById_thenReturnNotFound() throws Exception {
-        Task task = TaskFactory.createTask();
-        TaskResponseDtoNoComments taskResponseDto = TaskFactory.createTaskResponseDtoNoComments();
-
-        given(taskService.getTaskById(anyLong()))
+        given(taskService.getTaskResponseById(anyLong()))
                 .willThrow(TaskNotFoundException.class);
-        given(taskMapper.mapTaskToResponseDtoNoComments(task))
-                .willReturn(taskResponseDto);
 
         mockMvc.perform(
                         MockMvcRequestBuilders.get(TASK_URL)
@@ -0,0 +1,120 @@
+package com.chaplygin.task_manager.task.controller;
+
+import com.chaplygin.task_manager.BaseTest;
+import com.chaplygin.task_manager.task.dto.TaskAssigneeUpdateDto;
+import com.chaplygin.task_manager.task.dto.TaskFullUpdateDto;
+import com.chaplygin.task_manager.task.dto.TaskStatusUpdateDto;
+import com.chaplygin.task_manager.task.model.Status;
+import com.chaplygin.task_manager.user.model.Role;
+import com.chaplygin.task_manager.user.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Every mutating request reads its task once, with owner and assignee joined, in the permission
+ * check. The handler reuses that task; the remaining statements are the write itself, the new
+ * assignee of a reassignment and the comments a delete cascades to.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskMutationStatementCountTest extends BaseTest {
+
+    private static final String TASKS_URL = "/api/v1/tasks/";
+    private static final long OWNER_ID = 3001L;
+    private static final long ASSIGNEE_ID = 3002L;
+    private static final long NEW_ASSIGNEE_ID = 3003L;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private long taskId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, password, user_name, role)
+                SELECT 3000 + n, 'mutation' || n || '@domain.com', 'x', 'mutation' || n, 'ROLE_USER'
+                FROM generate_series(1, 3) n
+                ON CONFLICT (id) DO NOTHING""");
+        taskId = jdbcTemplate.queryForObject("""
+                INSERT INTO tasks (id, title, description, owner_id, assignee_id, status, priority)
+                VALUES (nextval('tasks_id_seq'), 'Task', 'Description', ?, ?, 'PENDING', 'LOW')
+                RETURNING id""", Long.class, OWNER_ID, ASSIGNEE_ID);
+
+        User owner = new User();
+        owner.setId(OWNER_ID);
+        owner.setEmail("mutation1@domain.com");
+        owner.setUsername("mutation1");
+        owner.setRole(Role.ROLE_USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(owner, null, owner.getAuthorities())
+        );
+    }
+
+    @Test
+    public void givenOwner_whenUpdateTask_thenOneReadAndOneUpdate() throws Exception {
+        TaskFullUpdateDto taskFullUpdateDto = new TaskFullUpdateDto("Renamed", null, null, null, null);
+
+        assertThat(countStatements(MockMvcRequestBuilders.put(TASKS_URL + taskId), taskFullUpdateDto)).isEqualTo(2);
+    }
+
+    @Test
+    public void givenOwner_whenUpdateTaskStatus_thenOneReadAndOneUpdate() throws Exception {
+        TaskStatusUpdateDto taskStatusUpdateDto = new TaskStatusUpdateDto(Status.IN_PROGRESS);
+
+        assertThat(countStatements(MockMvcRequestBuilders.patch(TASKS_URL + taskId + "/status"), taskStatusUpdateDto))
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void givenOwner_whenUpdateTaskAssignee_thenOneReadOfTaskAndOfNewAssigneeAndOneUpdate() throws Exception {
+        TaskAssigneeUpdateDto taskAssigneeUpdateDto = new TaskAssigneeUpdateDto(NEW_ASSIGNEE_ID);
+
+        assertThat(countStatements(MockMvcRequestBuilders.patch(TASKS_URL + taskId + "/assignee"), taskAssigneeUpdateDto))
+                .isEqualTo(3);
+    }
+
+    @Test
+    public void givenOwner_whenDeleteTask_thenOneReadOfTaskAndOfCommentsAndOneDelete() throws Exception {
+        assertThat(countStatements(MockMvcRequestBuilders.delete(TASKS_URL + taskId), null)).isEqualTo(3);
+    }
+
+    private long countStatements(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(body));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.status().is2xxSuccessful());
+
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,86 @@
+package com.chaplygin.task_manager.task.pagination;
+
+import com.chaplygin.task_manager.exception.model.InvalidCursorException;
+import com.chaplygin.task_manager.task.model.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskCursorCodecTest {
+
+    private final TaskCursorCodec codec = new TaskCursorCodec(new ObjectMapper());
+
+    @Test
+    public void givenEmptyCursor_whenDecode_thenReturnInitialPosition() {
+        KeysetScrollPosition position = codec.decode("", "title", Sort.Direction.ASC);
+
+        assertThat(position.isInitial()).isTrue();
+    }
+
+    @Test
+    public void givenSortByField_whenSortFor_thenIdIsAppendedInTheSameDirection() {
+        assertThat(codec.sortFor("status", Sort.Direction.DESC))
+                .isEqualTo(Sort.by(Sort.Direction.DESC, "status").and(Sort.by(Sort.Direction.DESC, "id")));
+        assertThat(codec.sortFor("id", Sort.Direction.ASC))
+                .isEqualTo(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    @Test
+    public void givenEncodedPosition_whenDecode_thenKeysKeepTheirTypes() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("status", Status.IN_PROGRESS);
+        keys.put("id", 42L);
+
+        String cursor = codec.encode(ScrollPosition.forward(keys), "status", Sort.Direction.DESC);
+        KeysetScrollPosition position = codec.decode(cursor, "status", Sort.Direction.DESC);
+
+        assertThat(position.getKeys()).containsExactly(
+                Map.entry("status", Status.IN_PROGRESS),
+                Map.entry("id", 42L)
+        );
+        assertThat(position.scrollsForward()).isTrue();
+    }
+
+    @Test
+    public void givenCursorOfAnotherSort_whenDecode_thenThrowInvalidCursorException() {
+        String cursor = codec.encode(ScrollPosition.forward(Map.of("id", 42L)), "id", Sort.Direction.ASC);
+
+        assertThatThrownBy(() -> codec.decode(cursor, "id", Sort.Direction.DESC))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> codec.decode(cursor, "title", Sort.Direction.ASC))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    public void givenMalformedCursor_whenDecode_thenThrowInvalidCursorException() {
+        String wrongKeys = Base64.getUrlEncoder().encodeToString(
+                "{\"sortBy\":\"id\",\"direction\":\"ASC\",\"keys\":[\"x\"]}".getBytes()
+        );
+
+        assertThatThrownBy(() -> codec.decode("not a cursor", "id", Sort.Direction.ASC))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> codec.decode(wrongKeys, "id", Sort.Direction.ASC))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    public void givenUnsupportedSortField_whenDecode_thenThrowInvalidCursorException() {
+        assertThatThrownBy(() -> codec.decode("", "owner", Sort.Direction.ASC))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    public void givenSortFieldWithoutSeekIndex_whenSortFor_thenThrowInvalidCursorException() {
+        assertThatThrownBy(() -> codec.sortFor("description", Sort.Direction.ASC))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
@@ -0,0 +1,126 @@
+package com.chaplygin.task_manager.task.repository;
+
+import com.chaplygin.task_manager.task.model.Priority;
+import com.chaplygin.task_manager.task.model.Status;
+import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.user.model.User;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 10k tasks created the way POST /tasks does it, one transaction per task, against POST
+ * /tasks/batch, batches of 1000 tasks per transaction with Hibernate JDBC batching and rewritten
+ * batched inserts, as configured in application.yml. Needs Docker.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.include=TaskBatchInsertBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskBatchInsertBenchmark {
+    private static final int TASKS = 10_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    private PostgreSQLContainer<?> postgres;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+    private JdbcTemplate jdbcTemplate;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private TaskRepository taskRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl() + "&reWriteBatchedInserts=true", postgres.getUsername(), postgres.getPassword()
+        );
+        Flyway.configure()
+                .dataSource(dataSource)
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, password, user_name, role)
+                VALUES (1, 'owner@domain.com', 'x', 'owner', 'ROLE_USER')""");
+
+        entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactoryBean.setDataSource(dataSource);
+        entityManagerFactoryBean.setPackagesToScan("com.chaplygin.task_manager");
+        entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.jdbc.batch_size", "50",
+                "hibernate.order_inserts", "true"
+        ));
+        entityManagerFactoryBean.afterPropertiesSet();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactoryBean.getObject());
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactoryBean.getObject()));
+        taskRepository = new JpaRepositoryFactory(entityManager).getRepository(
+                TaskRepository.class,
+                RepositoryFragments.just(new TaskListRowRepositoryImpl(entityManager))
+        );
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE tasks CASCADE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManagerFactoryBean.destroy();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public void singleCreates() {
+        for (int i = 0; i < TASKS; i++) {
+            int n = i;
+            transactionTemplate.executeWithoutResult(status -> taskRepository.save(task(n)));
+        }
+    }
+
+    @Benchmark
+    public void batchCreates() {
+        for (int offset = 0; offset < TASKS; offset += BATCH_SIZE) {
+            List<Task> tasks = new ArrayList<>(BATCH_SIZE);
+            for (int i = offset; i < offset + BATCH_SIZE; i++) {
+                tasks.add(task(i));
+            }
+            transactionTemplate.executeWithoutResult(status -> taskRepository.saveAll(tasks));
+        }
+    }
+
+    private Task task(int n) {
+        User user = entityManager.getReference(User.class, 1L);
+        Task task = new Task();
+        task.setTitle("Task " + n);
+        task.setDescription("Description " + n);
+        task.setOwner(user);
+        task.setAssignee(user);
+        task.setStatus(Status.NEW);
+        task.setPriority(Priority.MEDIUM);
+        return task;
+    }
+}
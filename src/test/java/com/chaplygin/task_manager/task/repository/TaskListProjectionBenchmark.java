@@ -0,0 +1,127 @@
+package com.chaplygin.task_manager.task.repository;
+
+import com.chaplygin.task_manager.task.dto.TaskResponseDtoNoComments;
+import com.chaplygin.task_manager.task.mapper.TaskMapper;
+import com.chaplygin.task_manager.task.mapper.TaskMapperImpl;
+import com.chaplygin.task_manager.task.model.Status;
+import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.task.specification.TaskSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Entity vs projection read path of a task list page over 100k tasks: findAll with the owner and
+ * assignee fetch-joined and mapped by TaskMapper, against findListRows. Both run the same filter and
+ * sort on the Flyway schema. Run with -prof gc to compare allocation per page. Needs Docker.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.include=TaskListProjectionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskListProjectionBenchmark {
+    private static final int USERS = 1_000;
+    private static final int TASKS = 100_000;
+
+    private PostgreSQLContainer<?> postgres;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+    private TaskRepository taskRepository;
+    private final TaskMapper taskMapper = new TaskMapperImpl();
+    private final Specification<Task> spec = Specification.where(TaskSpecifications.hasStatus(Status.PENDING));
+    private final Sort sort = Sort.by("id");
+
+    @Param({"20", "100"})
+    private int size;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()
+        );
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .load()
+                .migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("""
+                INSERT INTO users (email, password, user_name, role)
+                SELECT 'user' || n || '@domain.com', 'x', 'user' || n, 'ROLE_USER'
+                FROM generate_series(1, ?) n""", USERS);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, owner_id, assignee_id, status, priority)
+                SELECT 'Task ' || n, 'Description ' || n, n % ? + 1, (n * 7) % ? + 1,
+                       (array['PENDING', 'IN_PROGRESS', 'COMPLETED'])[n % 3 + 1], 'LOW'
+                FROM generate_series(1, ?) n""", USERS, USERS, TASKS);
+        jdbcTemplate.execute("VACUUM ANALYZE");
+
+        entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactoryBean.setDataSource(dataSource);
+        entityManagerFactoryBean.setPackagesToScan("com.chaplygin.task_manager");
+        entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()
+        ));
+        entityManagerFactoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = entityManagerFactoryBean.getObject();
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+
+        taskRepository = new JpaRepositoryFactory(entityManager).getRepository(
+                TaskRepository.class,
+                RepositoryFragments.just(new TaskListRowRepositoryImpl(entityManager))
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManagerFactoryBean.destroy();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public List<TaskResponseDtoNoComments> entities() {
+        return taskRepository.findAll(spec.and(fetchParticipants()), PageRequest.of(10, size, sort))
+                .map(taskMapper::mapTaskToResponseDtoNoComments)
+                .getContent();
+    }
+
+    @Benchmark
+    public List<TaskResponseDtoNoComments> projection() {
+        return taskRepository.findListRows(spec, sort, 10L * size, size).stream()
+                .map(TaskListRow::toResponseDto)
+                .toList();
+    }
+
+    private static Specification<Task> fetchParticipants() {
+        return (root, query, criteriaBuilder) -> {
+            if (query.getResultType() != Long.class) {
+                root.fetch("owner");
+                root.fetch("assignee");
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package com.chaplygin.task_manager.task.repository;
+
+import org.openjdk.jmh.annotations.*;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Offset vs cursor pages over 1M tasks, page 1 and page 10,000 of 10. The statements have the
+ * shape TaskService issues in each mode: offset/limit, and the seek predicate of a cursor with the
+ * redundant "not before" bound. The (title, id) index stands in for the composite index of the
+ * schema. Needs Docker for the Postgres container; seeding takes a few seconds.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.include=TaskPaginationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskPaginationBenchmark {
+    private static final int TASKS = 1_000_000;
+    private static final int PAGE_SIZE = 10;
+
+    private static final String OFFSET_BY_ID =
+            "select t.* from tasks t order by t.id offset ? rows fetch first ? rows only";
+    private static final String CURSOR_BY_ID =
+            "select t.* from tasks t where t.id >= ? and t.id > ? order by t.id fetch first ? rows only";
+    private static final String OFFSET_BY_TITLE =
+            "select t.* from tasks t order by t.title, t.id offset ? rows fetch first ? rows only";
+    private static final String CURSOR_BY_TITLE = "select t.* from tasks t" +
+            " where t.title >= ? and (t.title > ? or (t.title = ? and t.id > ?))" +
+            " order by t.title, t.id fetch first ? rows only";
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+
+    @Param({"1", "10000"})
+    private int page;
+
+    private long lastId;
+    private String lastTitle;
+    private long lastTitleId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    create table tasks (
+                        id bigserial primary key,
+                        title varchar(255) not null,
+                        description text not null,
+                        owner_id bigint not null,
+                        assignee_id bigint not null,
+                        status varchar(255) not null,
+                        priority varchar(255) not null
+                    )""");
+            statement.execute("""
+                    insert into tasks (title, description, owner_id, assignee_id, status, priority)
+                    select 'Task ' || md5(n::text), 'Description ' || n, n % 1000, n % 997,
+                           (array['PENDING', 'IN_PROGRESS', 'COMPLETED'])[n % 3 + 1],
+                           (array['LOW', 'MEDIUM', 'HIGH'])[n % 3 + 1]
+                    from generate_series(1, %d) n""".formatted(TASKS));
+            statement.execute("create index tasks_title_id_idx on tasks (title, id)");
+            statement.execute("vacuum analyze tasks");
+        }
+
+        if (page > 1) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select t.id, t.title from tasks t order by t.title, t.id offset ? rows fetch first 1 rows only")) {
+                statement.setInt(1, (page - 1) * PAGE_SIZE - 1);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    lastTitleId = resultSet.getLong(1);
+                    lastTitle = resultSet.getString(2);
+                }
+            }
+            lastId = (long) (page - 1) * PAGE_SIZE;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public long offsetById() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(OFFSET_BY_ID)) {
+            statement.setInt(1, (page - 1) * PAGE_SIZE);
+            statement.setInt(2, PAGE_SIZE);
+            return drain(statement);
+        }
+    }
+
+    @Benchmark
+    public long cursorById() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CURSOR_BY_ID)) {
+            statement.setLong(1, lastId);
+            statement.setLong(2, lastId);
+            statement.setInt(3, PAGE_SIZE + 1);
+            return drain(statement);
+        }
+    }
+
+    @Benchmark
+    public long offsetByTitle() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(OFFSET_BY_TITLE)) {
+            statement.setInt(1, (page - 1) * PAGE_SIZE);
+            statement.setInt(2, PAGE_SIZE);
+            return drain(statement);
+        }
+    }
+
+    @Benchmark
+    public long cursorByTitle() throws SQLException {
+        if (lastTitle == null) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select t.* from tasks t order by t.title, t.id fetch first ? rows only")) {
+                statement.setInt(1, PAGE_SIZE + 1);
+                return drain(statement);
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement(CURSOR_BY_TITLE)) {
+            statement.setString(1, lastTitle);
+            statement.setString(2, lastTitle);
+            statement.setString(3, lastTitle);
+            statement.setLong(4, lastTitleId);
+            statement.setInt(5, PAGE_SIZE + 1);
+            return drain(statement);
+        }
+    }
+
+    private long drain(PreparedStatement statement) throws SQLException {
+        long sum = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                sum += resultSet.getLong(1);
+            }
+        }
+        return sum;
+    }
+}
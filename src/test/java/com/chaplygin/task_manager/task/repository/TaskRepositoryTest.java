@@ -1,16 +1,23 @@
 package com.chaplygin.task_manager.task.repository;
 
+import com.chaplygin.task_manager.task.model.Status;
 import com.chaplygin.task_manager.task.model.Task;
 import com.chaplygin.task_manager.task.specification.TaskSpecifications;
 import com.chaplygin.task_manager.testDataFactory.TaskFactory;
+import com.chaplygin.task_manager.user.model.User;
+import jakarta.persistence.EntityManager;
 import jakarta.validation.ConstraintViolationException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -19,10 +26,12 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Testcontainers
 @ActiveProfiles("test")
 class TaskRepositoryTest {
@@ -32,8 +41,14 @@ class TaskRepositoryTest {
             .withDatabaseName("test")
             .withUsername("test")
             .withPassword("test");
+    private static final int TASKS_WITH_DISTINCT_USERS = 60;
+
     @Autowired
     private TaskRepository taskRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
 
     @DynamicPropertySource
     static void registerDatabaseProperties(DynamicPropertyRegistry registry) {
@@ -65,4 +80,93 @@ class TaskRepositoryTest {
         assertThat(page.getTotalElements()).isEqualTo(1);
         assertThat(page.getContent().getFirst().getTitle()).isEqualTo("Test task1");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenTitleInOtherCase_whenFindAllWithHasTitle_thenTaskIsFound() {
+        taskRepository.save(TaskFactory.createNewTask1());
+        taskRepository.save(TaskFactory.createNewTask2());
+
+        Page<Task> page = taskRepository.findAll(TaskSpecifications.hasTitle("TEST TASK1"), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting(Task::getTitle).containsExactly("Test task1");
+    }
+
+    @Test
+    public void givenLikeWildcards_whenFindAllWithHasTitle_thenWildcardsMatchLiterally() {
+        taskRepository.save(TaskFactory.createNewTask1());
+
+        assertThat(taskRepository.findAll(TaskSpecifications.hasTitle("%"), PageRequest.of(0, 10))).isEmpty();
+        assertThat(taskRepository.findAll(TaskSpecifications.hasTitle("test_task1"), PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    public void givenSpecification_whenFindListRows_thenFilteredRowsWithParticipantsAreProjected() {
+        insertTasksWithDistinctUsers();
+        Statistics statistics = statistics();
+
+        List<TaskListRow> rows = taskRepository.findListRows(
+                TaskSpecifications.hasTitle("task 1").and(TaskSpecifications.hasOwner(1010L)),
+                Sort.by("id"), 0, 10
+        );
+
+        assertThat(rows).extracting(TaskListRow::title).containsExactly("Task 10");
+        assertThat(rows.getFirst().toResponseDto().owner().username()).isEqualTo("user10");
+        assertThat(rows.getFirst().toResponseDto().assignee().id()).isEqualTo(1011L);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void givenKeyset_whenFindListRowsAfterTitle_thenRowsContinueAfterIt() {
+        insertTasksWithDistinctUsers();
+
+        List<TaskListRow> rows = taskRepository.findListRows(
+                TaskSpecifications.isAfter("title", "Task 10", 10L, Sort.Direction.ASC),
+                Sort.by("title", "id"), 0, 2
+        );
+
+        assertThat(rows).extracting(TaskListRow::title).containsExactly("Task 11", "Task 12");
+    }
+
+    @Test
+    public void givenNullPriority_whenUpdateStatusAndPriority_thenOnlyStatusChanges() {
+        Task task = taskRepository.save(TaskFactory.createNewTask1());
+
+        int updated = taskRepository.updateStatusAndPriority(List.of(task.getId(), -1L), Status.COMPLETED, null);
+
+        Task updatedTask = taskRepository.findById(task.getId()).orElseThrow();
+        assertThat(updated).isEqualTo(1);
+        assertThat(updatedTask.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(updatedTask.getPriority()).isEqualTo(task.getPriority());
+    }
+
+    @Test
+    public void givenTasksOfOneOwner_whenUpdateAssignee_thenOnlyTheyAreReassigned() {
+        insertTasksWithDistinctUsers();
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM tasks WHERE owner_id IN (1001, 1002)", Long.class);
+
+        int updated = taskRepository.updateAssignee(ids, entityManager.getReference(User.class, 1060L));
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks WHERE assignee_id = 1060", Long.class))
+                .isEqualTo(3L);
+    }
+
+    private void insertTasksWithDistinctUsers() {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, password, user_name, role)
+                SELECT 1000 + n, 'user' || n || '@domain.com', 'x', 'user' || n, 'ROLE_USER'
+                FROM generate_series(1, ?) n""", TASKS_WITH_DISTINCT_USERS);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, owner_id, assignee_id, status, priority)
+                SELECT 'Task ' || n, 'Description ' || n, 1000 + n, 1000 + (n % ?) + 1, 'PENDING', 'LOW'
+                FROM generate_series(1, ?) n""", TASKS_WITH_DISTINCT_USERS, TASKS_WITH_DISTINCT_USERS);
+        entityManager.clear();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
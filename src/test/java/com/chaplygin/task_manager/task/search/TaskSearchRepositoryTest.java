@@ -0,0 +1,102 @@
+package com.chaplygin.task_manager.task.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Testcontainers
+@ActiveProfiles("test")
+@Import(TaskSearchRepository.class)
+class TaskSearchRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TaskSearchRepository taskSearchRepository;
+
+    @DynamicPropertySource
+    static void registerDatabaseProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () ->
+                String.format("jdbc:postgresql://localhost:%d/%s",
+                        postgresContainer.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT),
+                        postgresContainer.getDatabaseName()));
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, password, user_name, role)
+                VALUES (101, 'search1@domain.com', 'x', 'search1', 'ROLE_USER'),
+                       (102, 'search2@domain.com', 'x', 'search2', 'ROLE_USER')""");
+        jdbcTemplate.update("""
+                INSERT INTO tasks (id, title, description, owner_id, assignee_id, status, priority)
+                VALUES (1001, 'Release documentation', 'Write it', 101, 101, 'PENDING', 'LOW'),
+                       (1002, 'Prepare release', 'Collect the documentation drafts', 101, 102, 'PENDING', 'LOW'),
+                       (1003, 'Fix login', 'Users cannot sign in', 102, 102, 'PENDING', 'LOW')""");
+        jdbcTemplate.update("""
+                INSERT INTO comments (text, task_id, author_id)
+                VALUES ('The documentation team will help', 1003, 102)""");
+    }
+
+    @Test
+    public void givenMatchesInTitleDescriptionAndComment_whenSearch_thenTitleMatchRanksFirst() {
+        List<TaskSearchHit> hits = taskSearchRepository.search("documentation", "english", null, 0, 10);
+
+        assertThat(hits).extracting(TaskSearchHit::id).containsExactly(1001L, 1002L, 1003L);
+        assertThat(hits.getFirst().titleHighlight()).isEqualTo("Release <mark>documentation</mark>");
+        assertThat(hits.get(1).snippet()).contains("<mark>documentation</mark>");
+    }
+
+    @Test
+    public void givenUser_whenSearch_thenOnlyOwnOrAssignedTasksAreFound() {
+        List<TaskSearchHit> hits = taskSearchRepository.search("documentation", "english", 102L, 0, 10);
+
+        assertThat(hits).extracting(TaskSearchHit::id).containsExactly(1002L, 1003L);
+    }
+
+    @Test
+    public void givenOtherLanguage_whenSearch_thenStoredVectorOfThatLanguageIsUsed() {
+        List<TaskSearchHit> hits = taskSearchRepository.search("documentation", "simple", null, 0, 10);
+
+        assertThat(hits).extracting(TaskSearchHit::id).containsExactlyInAnyOrder(1001L, 1002L, 1003L);
+    }
+
+    @Test
+    public void givenCommentDeleted_whenSearch_thenVectorsOfAllLanguagesAreRefreshed() {
+        jdbcTemplate.update("DELETE FROM comments WHERE task_id = 1003");
+
+        assertThat(taskSearchRepository.search("documentation", "english", null, 0, 10))
+                .extracting(TaskSearchHit::id).containsExactly(1001L, 1002L);
+        assertThat(taskSearchRepository.search("documentation", "simple", null, 0, 10))
+                .extracting(TaskSearchHit::id).containsExactlyInAnyOrder(1001L, 1002L);
+    }
+
+    @Test
+    public void givenLanguageWithoutSearchVector_whenSearch_thenThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> taskSearchRepository.search("documentation", "german", null, 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,286 @@
+package com.chaplygin.task_manager.task.service;
+
+import com.chaplygin.task_manager.exception.model.AccessDeniedException;
+import com.chaplygin.task_manager.exception.model.InvalidTaskBatchException;
+import com.chaplygin.task_manager.exception.model.TaskBatchItemError;
+import com.chaplygin.task_manager.permission.engine.TaskPermissionEngine;
+import com.chaplygin.task_manager.task.dto.TaskBulkFilterDto;
+import com.chaplygin.task_manager.task.dto.TaskBulkUpdateDto;
+import com.chaplygin.task_manager.task.dto.TaskBulkUpdateOutcome;
+import com.chaplygin.task_manager.task.dto.TaskBulkUpdateResponseDto;
+import com.chaplygin.task_manager.task.dto.TaskBulkUpdateResultDto;
+import com.chaplygin.task_manager.task.dto.TaskCreateDto;
+import com.chaplygin.task_manager.task.dto.TaskReassignDto;
+import com.chaplygin.task_manager.task.dto.TaskReassignResponseDto;
+import com.chaplygin.task_manager.task.mapper.TaskMapperImpl;
+import com.chaplygin.task_manager.task.model.Priority;
+import com.chaplygin.task_manager.task.model.Status;
+import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.task.repository.TaskAccessRow;
+import com.chaplygin.task_manager.task.repository.TaskRepository;
+import com.chaplygin.task_manager.testDataFactory.TaskFactory;
+import com.chaplygin.task_manager.testDataFactory.UserFactory;
+import com.chaplygin.task_manager.user.model.Role;
+import com.chaplygin.task_manager.user.model.User;
+import com.chaplygin.task_manager.user.service.CurrentUserService;
+import com.chaplygin.task_manager.user.service.UserService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchServiceTest {
+
+    @Mock
+    private TaskService taskService;
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private UserService userService;
+    @Mock
+    private CurrentUserService currentUserService;
+
+    private TaskBatchService taskBatchService;
+
+    private final User owner = UserFactory.createUser1Saved();
+    private final User assignee = UserFactory.createUser2Saved();
+
+    @BeforeEach
+    void setUp() {
+        taskBatchService = new TaskBatchService(
+                taskService, taskRepository, new TaskMapperImpl(), userService, currentUserService,
+                Validation.buildDefaultValidatorFactory().getValidator(), new TaskPermissionEngine()
+        );
+        ReflectionTestUtils.setField(taskBatchService, "maxSize", 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenValidBatch_whenCreateTasks_thenAssigneesAreResolvedOnceAndTasksCreated() {
+        given(userService.findAllById(Set.of(owner.getId(), assignee.getId())))
+                .willReturn(Map.of(owner.getId(), owner, assignee.getId(), assignee));
+        given(taskService.createTasks(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        List<Task> tasks = taskBatchService.createTasks(List.of(
+                new TaskCreateDto("First", "First description", assignee.getId(), Priority.HIGH),
+                new TaskCreateDto("Second", "Second description", owner.getId(), Priority.LOW)
+        ), owner);
+
+        ArgumentCaptor<List<Task>> captor = ArgumentCaptor.forClass(List.class);
+        verify(taskService).createTasks(captor.capture());
+        assertThat(captor.getValue()).isEqualTo(tasks);
+        assertThat(tasks).extracting(Task::getTitle).containsExactly("First", "Second");
+        assertThat(tasks).extracting(Task::getAssignee).containsExactly(assignee, owner);
+        assertThat(tasks).allSatisfy(task -> {
+            assertThat(task.getOwner()).isEqualTo(owner);
+            assertThat(task.getStatus()).isEqualTo(Status.NEW);
+        });
+    }
+
+    @Test
+    public void givenInvalidItems_whenCreateTasks_thenErrorsOfEveryItemAndNothingCreated() {
+        given(userService.findAllById(Set.of(assignee.getId(), 99L)))
+                .willReturn(Map.of(assignee.getId(), assignee));
+
+        assertThatThrownBy(() -> taskBatchService.createTasks(List.of(
+                new TaskCreateDto("", "Description", assignee.getId(), Priority.LOW),
+                new TaskCreateDto("Title", "Description", 99L, Priority.LOW)
+        ), owner))
+                .isInstanceOfSatisfying(InvalidTaskBatchException.class, e -> {
+                    assertThat(e.getMessage()).isEqualTo("2 of 2 tasks are invalid");
+                    assertThat(e.getErrors()).extracting(TaskBatchItemError::index, TaskBatchItemError::field)
+                            .containsExactly(
+                                    tuple(0, "title"),
+                                    tuple(1, "assigneeId")
+                            );
+                });
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    public void givenNullItem_whenCreateTasks_thenItIsReported() {
+        assertThatThrownBy(() -> taskBatchService.createTasks(Arrays.asList((TaskCreateDto) null), owner))
+                .isInstanceOfSatisfying(InvalidTaskBatchException.class, e ->
+                        assertThat(e.getErrors()).containsExactly(new TaskBatchItemError(0, null, "must not be null"))
+                );
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    public void givenOversizedBatch_whenCreateTasks_thenRejectedBeforeValidation() {
+        List<TaskCreateDto> taskCreateDtos = List.of(
+                TaskFactory.createValidTaskCreateDto(), TaskFactory.createValidTaskCreateDto(),
+                TaskFactory.createValidTaskCreateDto(), TaskFactory.createValidTaskCreateDto()
+        );
+
+        assertThatThrownBy(() -> taskBatchService.createTasks(taskCreateDtos, owner))
+                .isInstanceOf(InvalidTaskBatchException.class)
+                .hasMessage("Batch must not contain more than 3 tasks");
+        verifyNoInteractions(userService, taskService);
+    }
+
+    @Test
+    public void givenEmptyBatch_whenCreateTasks_thenRejected() {
+        assertThatThrownBy(() -> taskBatchService.createTasks(List.of(), owner))
+                .isInstanceOf(InvalidTaskBatchException.class)
+                .hasMessage("Batch must not be empty");
+    }
+
+    @Test
+    public void givenIdsOfOwnAssignedForeignAndMissingTasks_whenUpdateStatus_thenOutcomePerId() {
+        ReflectionTestUtils.setField(taskBatchService, "maxSize", 4);
+        given(currentUserService.getCurrentUser())
+                .willReturn(assignee);
+        given(taskRepository.findAccessRows(any(Specification.class), eq(4)))
+                .willReturn(List.of(
+                        new TaskAccessRow(1L, assignee.getId(), owner.getId()),
+                        new TaskAccessRow(2L, owner.getId(), assignee.getId()),
+                        new TaskAccessRow(3L, owner.getId(), owner.getId())
+                ));
+        given(taskService.updateStatusAndPriority(any(), eq(Status.COMPLETED), isNull()))
+                .willReturn(2);
+
+        TaskBulkUpdateResponseDto response = taskBatchService.updateTasks(
+                new TaskBulkUpdateDto(List.of(1L, 2L, 3L, 4L, 1L), null, Status.COMPLETED, null)
+        );
+
+        assertThat(response.results()).containsExactly(
+                new TaskBulkUpdateResultDto(1L, TaskBulkUpdateOutcome.UPDATED),
+                new TaskBulkUpdateResultDto(2L, TaskBulkUpdateOutcome.UPDATED),
+                new TaskBulkUpdateResultDto(3L, TaskBulkUpdateOutcome.FORBIDDEN),
+                new TaskBulkUpdateResultDto(4L, TaskBulkUpdateOutcome.NOT_FOUND)
+        );
+        assertThat(response.updated()).isEqualTo(2);
+        verify(taskService).updateStatusAndPriority(
+                List.of(new TaskAccessRow(1L, assignee.getId(), owner.getId()),
+                        new TaskAccessRow(2L, owner.getId(), assignee.getId())),
+                Status.COMPLETED, null
+        );
+    }
+
+    @Test
+    public void givenAssignedTask_whenUpdatePriority_thenForbidden() {
+        given(currentUserService.getCurrentUser())
+                .willReturn(assignee);
+        given(taskRepository.findAccessRows(any(Specification.class), eq(1)))
+                .willReturn(List.of(new TaskAccessRow(2L, owner.getId(), assignee.getId())));
+
+        TaskBulkUpdateResponseDto response = taskBatchService.updateTasks(
+                new TaskBulkUpdateDto(List.of(2L), null, null, Priority.HIGH)
+        );
+
+        assertThat(response.results()).containsExactly(new TaskBulkUpdateResultDto(2L, TaskBulkUpdateOutcome.FORBIDDEN));
+        verify(taskService).updateStatusAndPriority(List.of(), null, Priority.HIGH);
+    }
+
+    @Test
+    public void givenFilterMatchingTooManyTasks_whenUpdateStatus_thenRejected() {
+        given(currentUserService.getCurrentUser())
+                .willReturn(owner);
+        given(taskRepository.findAccessRows(any(Specification.class), eq(4)))
+                .willReturn(List.of(
+                        new TaskAccessRow(1L, owner.getId(), owner.getId()),
+                        new TaskAccessRow(2L, owner.getId(), owner.getId()),
+                        new TaskAccessRow(3L, owner.getId(), owner.getId()),
+                        new TaskAccessRow(4L, owner.getId(), owner.getId())
+                ));
+
+        assertThatThrownBy(() -> taskBatchService.updateTasks(new TaskBulkUpdateDto(
+                null, new TaskBulkFilterDto("sprint", null, null, null), Status.COMPLETED, null
+        )))
+                .isInstanceOf(InvalidTaskBatchException.class)
+                .hasMessage("Filter matches more than 3 tasks, narrow it down");
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    public void givenIdsAndFilter_whenUpdateTasks_thenRejected() {
+        assertThatThrownBy(() -> taskBatchService.updateTasks(new TaskBulkUpdateDto(
+                List.of(1L), new TaskBulkFilterDto(null, null, null, null), Status.COMPLETED, null
+        )))
+                .isInstanceOf(InvalidTaskBatchException.class)
+                .hasMessage("Exactly one of ids and filter must be set");
+        verifyNoInteractions(taskRepository, taskService);
+    }
+
+    @Test
+    public void givenMoreTasksThanChunkSize_whenReassignTasks_thenEachChunkIsReassignedOnItsOwn() {
+        ReflectionTestUtils.setField(taskBatchService, "chunkSize", 2);
+        User admin = UserFactory.createUser1Saved();
+        admin.setRole(Role.ROLE_ADMIN);
+        given(currentUserService.getCurrentUser())
+                .willReturn(admin);
+        given(userService.findAllById(Set.of(owner.getId())))
+                .willReturn(Map.of(owner.getId(), owner));
+        List<TaskAccessRow> firstChunk = List.of(
+                new TaskAccessRow(1L, owner.getId(), assignee.getId()),
+                new TaskAccessRow(5L, owner.getId(), assignee.getId())
+        );
+        List<TaskAccessRow> secondChunk = List.of(new TaskAccessRow(8L, assignee.getId(), assignee.getId()));
+        given(taskRepository.findAccessRows(any(Specification.class), eq(2)))
+                .willReturn(firstChunk, secondChunk);
+        given(taskService.reassignTasks(any(), eq(owner)))
+                .willAnswer(invocation -> invocation.<List<TaskAccessRow>>getArgument(0).size());
+
+        TaskReassignResponseDto response = taskBatchService.reassignTasks(
+                new TaskReassignDto(assignee.getId(), null, null, owner.getId())
+        );
+
+        assertThat(response).isEqualTo(new TaskReassignResponseDto(3, 2));
+        verify(taskService).reassignTasks(firstChunk, owner);
+        verify(taskService).reassignTasks(secondChunk, owner);
+        verify(taskRepository, times(2)).findAccessRows(any(Specification.class), eq(2));
+    }
+
+    @Test
+    public void givenNonAdmin_whenReassignTasks_thenAccessDenied() {
+        given(currentUserService.getCurrentUser())
+                .willReturn(owner);
+
+        assertThatThrownBy(() -> taskBatchService.reassignTasks(
+                new TaskReassignDto(assignee.getId(), null, null, owner.getId())
+        ))
+                .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(taskRepository, taskService);
+    }
+
+    @Test
+    public void givenMissingAssignee_whenReassignTasks_thenRejected() {
+        User admin = UserFactory.createUser1Saved();
+        admin.setRole(Role.ROLE_ADMIN);
+        given(currentUserService.getCurrentUser())
+                .willReturn(admin);
+        given(userService.findAllById(Set.of(99L)))
+                .willReturn(Map.of());
+
+        assertThatThrownBy(() -> taskBatchService.reassignTasks(
+                new TaskReassignDto(assignee.getId(), null, null, 99L)
+        ))
+                .isInstanceOf(InvalidTaskBatchException.class)
+                .hasMessage("User with id '99' not found");
+        verifyNoInteractions(taskRepository, taskService);
+    }
+}
@@ -0,0 +1,103 @@
+package com.chaplygin.task_manager.task.service;
+
+import com.chaplygin.task_manager.BaseTest;
+import com.chaplygin.task_manager.task.dto.TaskPagedListResponseDto;
+import com.chaplygin.task_manager.task.pagination.CountMode;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * A list page reads rows with their owner and assignee in one statement at any page size; only
+ * count=exact adds the count query. Every task has its own owner and assignee, so a lazy load per
+ * row would show up as extra statements.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class TaskListStatementCountTest extends BaseTest {
+
+    private static final String TITLE = "Listed task";
+    private static final int TASKS = 120;
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, password, user_name, role)
+                SELECT 4000 + n, 'listed' || n || '@domain.com', 'x', 'listed' || n, 'ROLE_USER'
+                FROM generate_series(1, ?) n
+                ON CONFLICT (id) DO NOTHING""", TASKS);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, owner_id, assignee_id, status, priority)
+                SELECT ? || ' ' || n, 'Description', 4000 + n, 4000 + (n % ?) + 1, 'PENDING', 'LOW'
+                FROM generate_series(1, ?) n
+                WHERE NOT EXISTS (SELECT 1 FROM tasks WHERE title = ? || ' 1')""", TITLE, TASKS, TASKS, TITLE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    public void givenPageSize_whenGetPageWithExactCount_thenRowsAndCountAreRead(int size) {
+        TaskPagedListResponseDto page = countStatements(2, () -> getPage(1, size, null, CountMode.EXACT));
+
+        assertThat(page.tasks()).hasSize(size);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    public void givenPageSize_whenGetPageWithoutCount_thenOnlyRowsAreRead(int size) {
+        TaskPagedListResponseDto page = countStatements(1, () -> getPage(1, size, null, CountMode.NONE));
+
+        assertThat(page.tasks()).hasSize(size);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    public void givenCachedEstimate_whenGetPageWithEstimatedCount_thenOnlyRowsAreRead(int size) {
+        getPage(2, size, null, CountMode.ESTIMATE);
+
+        TaskPagedListResponseDto page = countStatements(1, () -> getPage(1, size, null, CountMode.ESTIMATE));
+
+        assertThat(page.tasks()).hasSize(size);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 50})
+    public void givenCursor_whenGetNextPage_thenOnlyRowsAreRead(int size) {
+        String cursor = getPage(1, size, "", CountMode.NONE).nextCursor();
+
+        TaskPagedListResponseDto page = countStatements(1, () -> getPage(1, size, cursor, CountMode.NONE));
+
+        assertThat(page.tasks()).hasSize(size);
+    }
+
+    private TaskPagedListResponseDto getPage(int page, int size, String cursor, CountMode count) {
+        return taskService.getAllTasks(page, size, TITLE, null, null, null, "id", "asc", cursor, count);
+    }
+
+    private TaskPagedListResponseDto countStatements(long expected, Supplier<TaskPagedListResponseDto> request) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        TaskPagedListResponseDto page = request.get();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+        return page;
+    }
+}
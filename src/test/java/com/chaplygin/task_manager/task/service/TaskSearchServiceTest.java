@@ -0,0 +1,125 @@
+package com.chaplygin.task_manager.task.service;
+
+import com.chaplygin.task_manager.exception.model.InvalidSearchQueryException;
+import com.chaplygin.task_manager.task.dto.TaskSearchPageResponseDto;
+import com.chaplygin.task_manager.task.mapper.TaskMapper;
+import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.task.repository.TaskRepository;
+import com.chaplygin.task_manager.task.search.TaskSearchHit;
+import com.chaplygin.task_manager.task.search.TaskSearchRepository;
+import com.chaplygin.task_manager.testDataFactory.TaskFactory;
+import com.chaplygin.task_manager.testDataFactory.UserFactory;
+import com.chaplygin.task_manager.user.model.Role;
+import com.chaplygin.task_manager.user.model.User;
+import com.chaplygin.task_manager.user.service.CurrentUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchServiceTest {
+
+    @Mock
+    private TaskSearchRepository taskSearchRepository;
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private TaskMapper taskMapper;
+    @Mock
+    private CurrentUserService currentUserService;
+
+    @InjectMocks
+    private TaskSearchService taskSearchService;
+
+    private final User user = UserFactory.createUser1Saved();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskSearchService, "defaultLanguage", "english");
+        ReflectionTestUtils.setField(taskSearchService, "languages", Set.of("english", "simple"));
+    }
+
+    @Test
+    public void givenUser_whenSearch_thenOnlyOwnOrAssignedTasksAreSearched() {
+        given(currentUserService.getCurrentUser())
+                .willReturn(user);
+
+        taskSearchService.search("docs", null, 1, 10);
+
+        verify(taskSearchRepository).search("docs", "english", user.getId(), 0L, 11);
+    }
+
+    @Test
+    public void givenAdmin_whenSearchInAnotherLanguage_thenAllTasksAreSearchedInThatLanguage() {
+        User admin = UserFactory.createUser2Saved();
+        admin.setRole(Role.ROLE_ADMIN);
+        given(currentUserService.getCurrentUser())
+                .willReturn(admin);
+
+        taskSearchService.search("docs", "simple", 3, 10);
+
+        verify(taskSearchRepository).search(eq("docs"), eq("simple"), isNull(), eq(20L), eq(11));
+    }
+
+    @Test
+    public void givenOneMoreHitThanPageSize_whenSearch_thenHasNextAndHitsKeepRankOrder() {
+        Task first = TaskFactory.createTask();
+        Task second = TaskFactory.createTask();
+        second.setId(2L);
+        given(currentUserService.getCurrentUser())
+                .willReturn(user);
+        given(taskSearchRepository.search(anyString(), anyString(), anyLong(), anyLong(), anyInt()))
+                .willReturn(List.of(
+                        new TaskSearchHit(2L, 0.9f, "<mark>Test</mark> task", "snippet"),
+                        new TaskSearchHit(1L, 0.5f, "<mark>Test</mark> task", "snippet"),
+                        new TaskSearchHit(3L, 0.1f, "<mark>Test</mark> task", "snippet")
+                ));
+        given(taskRepository.findAllById(List.of(2L, 1L)))
+                .willReturn(List.of(first, second));
+        given(taskMapper.mapTaskToResponseDtoNoComments(any()))
+                .willReturn(TaskFactory.createTaskResponseDtoNoComments());
+
+        TaskSearchPageResponseDto response = taskSearchService.search("test", null, 1, 2);
+
+        assertThat(response.hasNext()).isTrue();
+        assertThat(response.results()).extracting(result -> result.rank()).containsExactly(0.9f, 0.5f);
+        assertThat(response.language()).isEqualTo("english");
+    }
+
+    @Test
+    public void givenBlankQueryOrUnknownLanguage_whenSearch_thenThrowInvalidSearchQueryException() {
+        assertThatThrownBy(() -> taskSearchService.search(" ", null, 1, 10))
+                .isInstanceOf(InvalidSearchQueryException.class);
+        assertThatThrownBy(() -> taskSearchService.search("docs", "klingon", 1, 10))
+                .isInstanceOf(InvalidSearchQueryException.class);
+        verifyNoInteractions(taskSearchRepository);
+    }
+
+    @Test
+    public void givenConfiguredLanguageWithoutSearchVector_whenSearch_thenThrowInvalidSearchQueryException() {
+        ReflectionTestUtils.setField(taskSearchService, "languages", Set.of("english", "german"));
+
+        assertThatThrownBy(() -> taskSearchService.search("docs", "german", 1, 10))
+                .isInstanceOf(InvalidSearchQueryException.class);
+        verifyNoInteractions(taskSearchRepository);
+    }
+}
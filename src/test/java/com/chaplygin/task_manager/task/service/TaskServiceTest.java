@@ -0,0 +1,478 @@
+package com.chaplygin.task_manager.task.service;
+
+import com.chaplygin.task_manager.cache.negative.NegativeCache;
+import com.chaplygin.task_manager.cache.service.CacheTagService;
+import com.chaplygin.task_manager.exception.model.TaskNotFoundException;
+import com.chaplygin.task_manager.task.cache.TaskListCacheKeys;
+import com.chaplygin.task_manager.task.dto.TaskResponseDtoNoComments;
+import com.chaplygin.task_manager.task.mapper.TaskListMapper;
+import com.chaplygin.task_manager.task.mapper.TaskMapper;
+import com.chaplygin.task_manager.task.model.Status;
+import com.chaplygin.task_manager.task.model.Task;
+import com.chaplygin.task_manager.task.pagination.CountMode;
+import com.chaplygin.task_manager.task.pagination.TaskCountEstimator;
+import com.chaplygin.task_manager.task.pagination.TaskCursorCodec;
+import com.chaplygin.task_manager.task.repository.TaskAccessRow;
+import com.chaplygin.task_manager.task.repository.TaskListRow;
+import com.chaplygin.task_manager.task.repository.TaskParticipants;
+import com.chaplygin.task_manager.task.repository.TaskRepository;
+import com.chaplygin.task_manager.testDataFactory.TaskFactory;
+import com.chaplygin.task_manager.testDataFactory.UserFactory;
+import com.chaplygin.task_manager.user.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringJUnitConfig
+class TaskServiceTest {
+
+    @MockBean
+    private TaskRepository taskRepository;
+    @MockBean
+    private TaskMapper taskMapper;
+    @MockBean
+    private TaskListMapper taskListMapper;
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private NegativeCache negativeCache;
+    @Autowired
+    private TaskCursorCodec taskCursorCodec;
+
+    private final User user1 = UserFactory.createUser1Saved();
+    private final User user2 = UserFactory.createUser2Saved();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        negativeCache.getNativeCache().invalidateAll();
+        given(taskRepository.findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+                .willReturn(TaskFactory.createTaskListRows(1));
+        given(taskRepository.save(any(Task.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        given(taskListMapper.pageToTaskPagedListResponseDto(any()))
+                .willReturn(TaskFactory.createTaskPagedListResponseDto());
+    }
+
+    @Test
+    public void givenCachedTaskResponse_whenGetTaskResponseById_thenRepositoryIsNotQueriedAgain() {
+        Task task = TaskFactory.createTask();
+        given(taskRepository.findById(task.getId()))
+                .willReturn(Optional.of(task));
+        given(taskMapper.mapTaskToResponseDtoNoComments(task))
+                .willReturn(TaskFactory.createTaskResponseDtoNoComments());
+
+        TaskResponseDtoNoComments first = taskService.getTaskResponseById(task.getId());
+        TaskResponseDtoNoComments second = taskService.getTaskResponseById(task.getId());
+
+        assertThat(second).isEqualTo(first);
+        verify(taskRepository, times(1)).findById(task.getId());
+    }
+
+    @Test
+    public void givenCachedTaskResponse_whenSaveTask_thenTaskResponseIsReloaded() {
+        Task task = TaskFactory.createTask();
+        given(taskRepository.findById(task.getId()))
+                .willReturn(Optional.of(task));
+
+        taskService.getTaskResponseById(task.getId());
+        taskService.saveTask(task);
+        taskService.getTaskResponseById(task.getId());
+
+        verify(taskRepository, times(2)).findById(task.getId());
+    }
+
+    @Test
+    public void givenCachedTaskResponse_whenDeleteTaskInTransaction_thenEvictedOnlyAfterCommit() {
+        Task task = TaskFactory.createTask();
+        given(taskRepository.findById(task.getId()))
+                .willReturn(Optional.of(task));
+        taskService.getTaskResponseById(task.getId());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            taskService.deleteTask(task);
+            assertThat(cacheManager.getCache("task").get(task.getId())).isNotNull();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(cacheManager.getCache("task").get(task.getId())).isNull();
+    }
+
+    @Test
+    public void givenFiltersContainingCommas_whenGetAllTasks_thenPagesDoNotShareCacheEntry() {
+        taskService.getAllTasks(1, 10, "a, b", "c", null, null, "id", "asc", null, CountMode.EXACT);
+        taskService.getAllTasks(1, 10, "a", "b, c", null, null, "id", "asc", null, CountMode.EXACT);
+
+        verify(taskRepository, times(2)).findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt());
+    }
+
+    @Test
+    public void givenCachedPagesOfTwoOwners_whenSaveTaskOfFirstOwner_thenSecondOwnerPageSurvives() {
+        Task task = TaskFactory.createTask(user1, user1);
+        given(taskRepository.findStoredParticipantsById(anyLong()))
+                .willReturn(Optional.of(participants(user1.getId(), user1.getId())));
+
+        getTasksForOwner(user1.getId());
+        getTasksForOwner(user2.getId());
+        clearInvocations(taskRepository);
+
+        taskService.saveTask(task);
+        getTasksForOwner(user1.getId());
+        getTasksForOwner(user2.getId());
+
+        verify(taskRepository, times(1)).findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt());
+    }
+
+    @Test
+    public void givenCachedPagesOfTwoUsers_whenSaveTaskOfFirstUser_thenSecondUserPagesSurvive() {
+        Task task = TaskFactory.createTask(user1, user1);
+        given(taskRepository.findStoredParticipantsById(anyLong()))
+                .willReturn(Optional.of(participants(user1.getId(), user1.getId())));
+
+        taskService.getTasksForUser(1, 10, null, null, null, null, "id", "asc", null, CountMode.EXACT, user2.getId());
+        taskService.getTasksForAssignee(1, 10, null, null, null, null, "id", "asc", null, CountMode.EXACT, user2.getId());
+        clearInvocations(taskRepository);
+
+        taskService.saveTask(task);
+        taskService.getTasksForUser(1, 10, null, null, null, null, "id", "asc", null, CountMode.EXACT, user2.getId());
+        taskService.getTasksForAssignee(1, 10, null, null, null, null, "id", "asc", null, CountMode.EXACT, user2.getId());
+
+        verify(taskRepository, times(0)).findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt());
+    }
+
+    @Test
+    public void givenCachedPageOfPreviousAssignee_whenReassignTask_thenPreviousAssigneePageIsReloaded() {
+        Task task = TaskFactory.createTask(user1, user2);
+        given(taskRepository.findStoredParticipantsById(anyLong()))
+                .willReturn(Optional.of(participants(user1.getId(), user1.getId())));
+
+        taskService.getTasksForAssignee(1, 10, null, null, null, null, "id", "asc", null, CountMode.EXACT, user1.getId());
+        clearInvocations(taskRepository);
+
+        taskService.saveTask(task);
+        taskService.getTasksForAssignee(1, 10, null, null, null, null, "id", "asc", null, CountMode.EXACT, user1.getId());
+
+        verify(taskRepository, times(1)).findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt());
+    }
+
+    @Test
+    public void givenCachedPageOfPreviousAssignee_whenUpdateTask_thenReloadedWithoutReadingParticipants() {
+        Task task = TaskFactory.createTask(user1, user2);
+
+        taskService.getTasksForAssignee(1, 10, null, null, null, null, "id", "asc", null, CountMode.EXACT, user1.getId());
+        clearInvocations(taskRepository);
+
+        taskService.updateTask(task, new TaskAccessRow(task.getId(), user1.getId(), user1.getId()));
+        taskService.getTasksForAssignee(1, 10, null, null, null, null, "id", "asc", null, CountMode.EXACT, user1.getId());
+
+        verify(taskRepository, times(1)).findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt());
+        verify(taskRepository, times(0)).findStoredParticipantsById(anyLong());
+    }
+
+    @Test
+    public void givenCachedAllTasksPage_whenSaveAnyTask_thenAllTasksPageIsReloaded() {
+        Task task = TaskFactory.createTask(user2, user2);
+
+        taskService.getAllTasks(1, 10, null, null, null, null, "id", "asc", null, CountMode.EXACT);
+        clearInvocations(taskRepository);
+
+        taskService.saveTask(task);
+        taskService.getAllTasks(1, 10, null, null, null, null, "id", "asc", null, CountMode.EXACT);
+
+        verify(taskRepository, times(1)).findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt());
+    }
+
+    @Test
+    public void givenCachedPagesOfTwoOwners_whenCreateTasksOfFirstOwner_thenOnlyFirstOwnerPageIsReloaded() {
+        List<Task> tasks = List.of(TaskFactory.createTask(user1, user1), TaskFactory.createTask(user1, user1));
+        given(taskRepository.saveAll(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        getTasksForOwner(user1.getId());
+        getTasksForOwner(user2.getId());
+        clearInvocations(taskRepository);
+
+        taskService.createTasks(tasks);
+        getTasksForOwner(user1.getId());
+        getTasksForOwner(user2.getId());
+
+        verify(taskRepository, times(1)).saveAll(tasks);
+        verify(taskRepository, times(1)).findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt());
+    }
+
+    @Test
+    public void givenCachedTaskAndOwnerPage_whenUpdateStatusAndPriority_thenBothAreReloaded() {
+        Task task = TaskFactory.createTask(user1, user1);
+        given(taskRepository.findById(task.getId()))
+                .willReturn(Optional.of(task));
+        given(taskMapper.mapTaskToResponseDtoNoComments(task))
+                .willReturn(TaskFactory.createTaskResponseDtoNoComments());
+
+        taskService.getTaskResponseById(task.getId());
+        getTasksForOwner(user1.getId());
+        getTasksForOwner(user2.getId());
+        clearInvocations(taskRepository);
+
+        taskService.updateStatusAndPriority(
+                List.of(new TaskAccessRow(task.getId(), user1.getId(), user1.getId())), Status.COMPLETED, null
+        );
+        taskService.getTaskResponseById(task.getId());
+        getTasksForOwner(user1.getId());
+        getTasksForOwner(user2.getId());
+
+        verify(taskRepository).updateStatusAndPriority(List.of(task.getId()), Status.COMPLETED, null);
+        verify(taskRepository, times(1)).findById(task.getId());
+        verify(taskRepository, times(1)).findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt());
+    }
+
+    @Test
+    public void givenPagesOfPreviousAndNewAssignee_whenReassignTasks_thenBothAreReloaded() {
+        getTasksForAssignee(user1.getId());
+        getTasksForAssignee(user2.getId());
+        clearInvocations(taskRepository);
+
+        taskService.reassignTasks(List.of(new TaskAccessRow(1L, user1.getId(), user1.getId())), user2);
+        getTasksForAssignee(user1.getId());
+        getTasksForAssignee(user2.getId());
+
+        verify(taskRepository).updateAssignee(List.of(1L), user2);
+        verify(taskRepository, times(2)).findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt());
+    }
+
+    @Test
+    public void givenCursorMode_whenGetAllTasks_thenSeekWithoutCountAndReturnNextCursor() {
+        List<TaskListRow> rows = TaskFactory.createTaskListRows(2);
+        given(taskRepository.findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+                .willReturn(rows);
+
+        taskService.getAllTasks(1, 1, null, null, null, null, "id", "asc", "", CountMode.EXACT);
+
+        verify(taskRepository).findListRows(any(Specification.class), eq(Sort.by("id")), eq(0L), eq(2));
+        verify(taskRepository, times(0)).count(any(Specification.class));
+        verify(taskListMapper).tasksToTaskCursorPageResponseDto(
+                List.of(rows.getFirst().toResponseDto()), 1,
+                taskCursorCodec.encode(ScrollPosition.forward(Map.of("id", 1L)), "id", Sort.Direction.ASC)
+        );
+    }
+
+    @Test
+    public void givenCursorSortedByTitle_whenGetAllTasks_thenCursorHoldsTitleAndId() {
+        given(taskRepository.findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+                .willReturn(TaskFactory.createTaskListRows(2));
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("title", "Test task1");
+        keys.put("id", 1L);
+
+        taskService.getAllTasks(1, 1, null, null, null, null, "title", "desc", "", CountMode.EXACT);
+
+        verify(taskListMapper).tasksToTaskCursorPageResponseDto(
+                any(), eq(1), eq(taskCursorCodec.encode(ScrollPosition.forward(keys), "title", Sort.Direction.DESC))
+        );
+    }
+
+    @Test
+    public void givenLastCursorPage_whenGetAllTasks_thenNextCursorIsNull() {
+        List<TaskListRow> rows = TaskFactory.createTaskListRows(1);
+        given(taskRepository.findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+                .willReturn(rows);
+
+        taskService.getAllTasks(1, 10, null, null, null, null, "id", "asc", "", CountMode.EXACT);
+
+        verify(taskListMapper).tasksToTaskCursorPageResponseDto(List.of(rows.getFirst().toResponseDto()), 10, null);
+    }
+
+    @Test
+    public void givenCountNone_whenGetAllTasks_thenSliceIsReturnedWithoutCount() {
+        List<TaskListRow> rows = TaskFactory.createTaskListRows(2);
+        given(taskRepository.findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+                .willReturn(rows);
+
+        taskService.getAllTasks(2, 1, null, null, null, null, "id", "asc", null, CountMode.NONE);
+
+        verify(taskRepository).findListRows(any(Specification.class), eq(Sort.by("id")), eq(1L), eq(2));
+        verify(taskRepository, times(0)).count(any(Specification.class));
+        verify(taskListMapper).sliceToTaskPagedListResponseDto(
+                new SliceImpl<>(List.of(rows.getFirst().toResponseDto()), PageRequest.of(1, 1, Sort.by("id")), true),
+                0, CountMode.NONE
+        );
+    }
+
+    @Test
+    public void givenCountEstimateWithoutFilters_whenGetAllTasks_thenPlannerEstimateIsUsed() {
+        given(taskRepository.findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+                .willReturn(TaskFactory.createTaskListRows(11));
+        given(taskRepository.estimateCount())
+                .willReturn(95L);
+
+        taskService.getAllTasks(1, 10, null, null, null, null, "id", "asc", null, CountMode.ESTIMATE);
+
+        verify(taskRepository, times(0)).count(any(Specification.class));
+        verify(taskListMapper).sliceToTaskPagedListResponseDto(any(), eq(10), eq(CountMode.ESTIMATE));
+    }
+
+    @Test
+    public void givenCountEstimateWithLiteralNullTitle_whenGetAllTasks_thenFilteredCountIsUsed() {
+        given(taskRepository.findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+                .willReturn(TaskFactory.createTaskListRows(11));
+        given(taskRepository.count(any(Specification.class)))
+                .willReturn(30L);
+
+        taskService.getAllTasks(1, 10, "null", null, null, null, "id", "asc", null, CountMode.ESTIMATE);
+
+        verify(taskRepository, times(0)).estimateCount();
+        verify(taskRepository, times(1)).count(any(Specification.class));
+    }
+
+    @Test
+    public void givenCountEstimateWithFiltersContainingCommas_whenGetAllTasks_thenCountsAreNotShared() {
+        given(taskRepository.findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+                .willReturn(TaskFactory.createTaskListRows(11));
+        given(taskRepository.count(any(Specification.class)))
+                .willReturn(30L);
+
+        taskService.getAllTasks(1, 10, "a, b", "c", null, null, "id", "asc", null, CountMode.ESTIMATE);
+        taskService.getAllTasks(1, 10, "a", "b, c", null, null, "id", "asc", null, CountMode.ESTIMATE);
+
+        verify(taskRepository, times(2)).count(any(Specification.class));
+    }
+
+    @Test
+    public void givenCountEstimateWithFilters_whenGetAllTasksTwice_thenCountIsCached() {
+        given(taskRepository.findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+                .willReturn(TaskFactory.createTaskListRows(11));
+        given(taskRepository.count(any(Specification.class)))
+                .willReturn(30L);
+
+        taskService.getAllTasks(1, 10, "title", null, null, null, "id", "asc", null, CountMode.ESTIMATE);
+        taskService.getAllTasks(2, 10, "title", null, null, null, "id", "asc", null, CountMode.ESTIMATE);
+
+        verify(taskRepository, times(1)).count(any(Specification.class));
+        verify(taskListMapper, times(2)).sliceToTaskPagedListResponseDto(any(), eq(3), eq(CountMode.ESTIMATE));
+    }
+
+    @Test
+    public void givenCountEstimateOnLastPage_whenGetAllTasks_thenTotalIsKnownWithoutEstimate() {
+        given(taskRepository.findListRows(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+                .willReturn(TaskFactory.createTaskListRows(1));
+
+        taskService.getAllTasks(3, 10, null, null, null, null, "id", "asc", null, CountMode.ESTIMATE);
+
+        verify(taskRepository, times(0)).estimateCount();
+        verify(taskListMapper).sliceToTaskPagedListResponseDto(any(), eq(3), eq(CountMode.ESTIMATE));
+    }
+
+    @Test
+    public void givenMissingTask_whenGetTaskByIdTwice_thenRepositoryIsQueriedOnce() {
+        given(taskRepository.findById(42L))
+                .willReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.getTaskById(42L))
+                .isInstanceOf(TaskNotFoundException.class);
+        assertThatThrownBy(() -> taskService.getTaskById(42L))
+                .isInstanceOf(TaskNotFoundException.class);
+
+        verify(taskRepository, times(1)).findById(42L);
+    }
+
+    @Test
+    public void givenMissingTask_whenTaskWithThatIdIsCreated_thenTaskIsFound() {
+        Task task = TaskFactory.createTask(user1, user1);
+        task.setId(null);
+        given(taskRepository.findById(42L))
+                .willReturn(Optional.empty());
+        assertThatThrownBy(() -> taskService.getTaskById(42L))
+                .isInstanceOf(TaskNotFoundException.class);
+        given(taskRepository.save(task))
+                .willAnswer(invocation -> {
+                    task.setId(42L);
+                    return task;
+                });
+        given(taskRepository.findById(42L))
+                .willReturn(Optional.of(task));
+
+        taskService.saveTask(task);
+
+        assertThat(taskService.getTaskById(42L)).isSameAs(task);
+    }
+
+    private void getTasksForOwner(Long userId) {
+        taskService.getTasksForOwner(1, 10, null, null, null, null, "id", "asc", null, CountMode.EXACT, userId);
+    }
+
+    private void getTasksForAssignee(Long userId) {
+        taskService.getTasksForAssignee(1, 10, null, null, null, null, "id", "asc", null, CountMode.EXACT, userId);
+    }
+
+    private TaskParticipants participants(Long ownerId, Long assigneeId) {
+        return new TaskParticipants() {
+            @Override
+            public Long getOwnerId() {
+                return ownerId;
+            }
+
+            @Override
+            public Long getAssigneeId() {
+                return assigneeId;
+            }
+        };
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import({
+            TaskService.class, CacheTagService.class, TaskListCacheKeys.class,
+            TaskCursorCodec.class, TaskCountEstimator.class, ObjectMapper.class
+    })
+    static class Config {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        public NegativeCache negativeCache() {
+            return new NegativeCache(100, Duration.ofMinutes(1), key -> {
+            });
+        }
+    }
+}
@@ -6,10 +6,10 @@ import com.chaplygin.task_manager.task.dto.TaskResponseDtoNoComments;
 import com.chaplygin.task_manager.task.model.Priority;
 import com.chaplygin.task_manager.task.model.Status;
 import com.chaplygin.task_manager.task.model.Task;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-
+import com.chaplygin.task_manager.task.repository.TaskListRow;
+import com.chaplygin.task_manager.user.model.User;
 import java.util.List;
+import java.util.stream.LongStream;
 
 public class TaskFactory {
 
@@ -56,6 +56,13 @@ public class TaskFactory {
         return task;
     }
 
+    public static Task createTask(User owner, User assignee) {
+        Task task = createTask();
+        task.setOwner(owner);
+        task.setAssignee(assignee);
+        return task;
+    }
+
     public static Task createNewTask1() {
         Task task = new Task();
         task.setTitle("Test task1");
@@ -98,7 +105,14 @@ public class TaskFactory {
         );
     }
 
-    public static Page<Task> createTaskPage() {
-        return new PageImpl<>(List.of(TaskFactory.createTask()));
+    public static List<TaskListRow> createTaskListRows(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new TaskListRow(
+                        id, "Test task" + id, "Test description" + id,
+                        1L, "user1@domain.com", "User1",
+                        2L, "user2@domain.com", "User2",
+                        Status.PENDING, Priority.MEDIUM
+                ))
+                .toList();
     }
 }
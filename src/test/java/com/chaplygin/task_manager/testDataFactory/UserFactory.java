@@ -24,6 +24,16 @@ public class UserFactory {
         return user;
     }
 
+    public static User createUser2Saved() {
+        User user = new User();
+        user.setId(2L);
+        user.setEmail("user2@domain.com");
+        user.setUsername("User2");
+        user.setPassword("$2a$10$rsZZyAVePBUTZrtNelhVfu5ZVSERN.VCSsnqLIoKCVYXDgpGDOGZK");
+        user.setRole(Role.ROLE_USER);
+        return user;
+    }
+
     public static User createUser1FromRequestPrepared() {
         User user = new User();
         user.setEmail("user1@domain.com");
@@ -0,0 +1,67 @@
+package com.chaplygin.task_manager.user.cache;
+
+import com.chaplygin.task_manager.auth.jwt.JwtUserPrincipal;
+import com.chaplygin.task_manager.testDataFactory.UserFactory;
+import com.chaplygin.task_manager.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrincipalCacheTest {
+    private static final String EMAIL = "user1@domain.com";
+
+    private PrincipalCache principalCache;
+    private List<String> published;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        published = new ArrayList<>();
+        loads = new AtomicInteger();
+        principalCache = new PrincipalCache(100, Duration.ofMinutes(1), published::add);
+    }
+
+    @Test
+    public void givenCachedPrincipal_whenGet_thenUserIsNotLoadedAgain() {
+        JwtUserPrincipal first = principalCache.get(EMAIL, this::load);
+        JwtUserPrincipal second = principalCache.get(EMAIL, this::load);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    public void givenCachedPrincipal_whenEvictAfterCommit_thenUserIsReloadedAndEvictionPublished() {
+        principalCache.get(EMAIL, this::load);
+
+        principalCache.evictAfterCommit(EMAIL);
+        principalCache.get(EMAIL, this::load);
+
+        assertThat(loads).hasValue(2);
+        assertThat(published).containsExactly(EMAIL);
+    }
+
+    @Test
+    public void givenMissingUser_whenGet_thenFailureIsNotCached() {
+        assertThatThrownBy(() -> principalCache.get(EMAIL, email -> {
+            throw new UsernameNotFoundException("User '%s' not found".formatted(email));
+        }))
+                .isInstanceOf(UsernameNotFoundException.class);
+
+        assertThat(principalCache.get(EMAIL, this::load)).isNotNull();
+    }
+
+    private JwtUserPrincipal load(String email) {
+        loads.incrementAndGet();
+        User user = UserFactory.createUser1Saved();
+        return new JwtUserPrincipal(user.getId(), user.getEmail(), user.getUsername(), user.getRole());
+    }
+}
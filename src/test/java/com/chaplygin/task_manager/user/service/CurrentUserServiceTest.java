@@ -0,0 +1,47 @@
+package com.chaplygin.task_manager.user.service;
+
+import com.chaplygin.task_manager.auth.jwt.JwtUserPrincipal;
+import com.chaplygin.task_manager.testDataFactory.UserFactory;
+import com.chaplygin.task_manager.user.model.User;
+import com.chaplygin.task_manager.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserServiceTest {
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CurrentUserService currentUserService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void givenAuthenticatedPrincipal_whenGetCurrentUserReference_thenReferenceIsTakenFromRepository() {
+        User user = UserFactory.createUser1Saved();
+        JwtUserPrincipal principal = new JwtUserPrincipal(user.getId(), user.getEmail(), user.getUsername(), user.getRole());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())
+        );
+        User reference = new User();
+        given(userRepository.getReferenceById(user.getId()))
+                .willReturn(reference);
+
+        User currentUser = currentUserService.getCurrentUserReference();
+
+        assertThat(currentUser).isSameAs(reference);
+    }
+}
@@ -1,7 +1,9 @@
 package com.chaplygin.task_manager.user.service;
 
+import com.chaplygin.task_manager.cache.negative.NegativeCache;
 import com.chaplygin.task_manager.exception.model.InvalidUserException;
 import com.chaplygin.task_manager.testDataFactory.UserFactory;
+import com.chaplygin.task_manager.user.cache.PrincipalCache;
 import com.chaplygin.task_manager.user.model.User;
 import com.chaplygin.task_manager.user.repository.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -25,6 +27,10 @@ import static org.mockito.Mockito.verify;
 class UserServiceTest {
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private NegativeCache negativeCache;
+    @Mock
+    private PrincipalCache principalCache;
 
     @InjectMocks
     private UserService userService;
@@ -125,4 +131,37 @@ class UserServiceTest {
         assertThat(userDetails).isNotNull();
         assertThat(userDetails.getUsername()).isEqualTo(user.getUsername());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenEmailMarkedMissing_whenFindByEmail_thenRepositoryIsNotQueried() {
+        given(negativeCache.isMissing("user:email", "user1@domain.com"))
+                .willReturn(true);
+
+        Optional<User> user = userService.findByEmail("user1@domain.com");
+
+        assertThat(user).isEmpty();
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    public void givenNonExistingEmail_whenFindByEmail_thenEmailIsMarkedMissing() {
+        given(userRepository.findByEmail("user1@domain.com"))
+                .willReturn(Optional.empty());
+
+        userService.findByEmail("user1@domain.com");
+
+        verify(negativeCache).markMissing("user:email", "user1@domain.com");
+    }
+
+    @Test
+    public void givenNewUser_whenSaveUser_thenMissingMarkersAndPrincipalAreCleared() {
+        given(userRepository.save(any(User.class)))
+                .willReturn(UserFactory.createUser1Saved());
+
+        User savedUser = userService.saveUser(UserFactory.createUser1FromRequest());
+
+        verify(negativeCache).clearAfterCommit("user:id", savedUser.getId());
+        verify(negativeCache).clearAfterCommit("user:email", savedUser.getEmail());
+        verify(principalCache).evictAfterCommit(savedUser.getEmail());
+    }
+}
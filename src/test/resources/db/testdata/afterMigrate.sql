@@ -0,0 +1,3 @@
+INSERT INTO users (email, password, user_name, role)
+VALUES ('admin@domain.com', '$2a$12$Q5qVXBrBpF9FMJyK7b8fnOyuHVxgKwIfFscOySl5JhUFX49F/Q0W2', 'admin', 'ROLE_ADMIN')
+ON CONFLICT (email) DO NOTHING;
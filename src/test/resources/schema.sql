@@ -1,3 +1,5 @@
+-- Mounted by compose.yaml into a fresh database. Flyway baselines on top of it at version 1
+-- (db/migration/V1__init_schema.sql is the same schema) and applies the later migrations.
 CREATE TABLE users
 (
     id        BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,